@@ -0,0 +1,44 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.sensors.ColorSensor;
+
+// Benchmarks the RGB to HSB conversion used to classify cargo color
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorSensorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final int[][] colors = new int[SAMPLES][3];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            for (int c = 0; c < 3; c++) {
+                colors[i][c] = random.nextInt(1 << 16);
+            }
+        }
+    }
+
+    @Benchmark
+    public float[] rgbToHsb() {
+        index = (index + 1) & (SAMPLES - 1);
+        int[] color = colors[index];
+        return ColorSensor.RGBtoHSB(color[0], color[1], color[2]);
+    }
+
+}
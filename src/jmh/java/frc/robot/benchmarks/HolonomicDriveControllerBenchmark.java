@@ -0,0 +1,57 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.commons.BreadHolonomicDriveController;
+
+// Benchmarks the trajectory following controller with the gains the TrajectoryFollowerController uses
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HolonomicDriveControllerBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final Pose2d[] currentPoses = new Pose2d[SAMPLES];
+    private final Pose2d[] referencePoses = new Pose2d[SAMPLES];
+    private final double[] referenceVelocities = new double[SAMPLES];
+    private final Rotation2d[] referenceAngles = new Rotation2d[SAMPLES];
+    private BreadHolonomicDriveController controller;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        controller = new BreadHolonomicDriveController(
+            new PIDController(8, 0, 0),
+            new PIDController(8, 0, 0),
+            new PIDController(6, 0, 0)
+        );
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            currentPoses[i] = new Pose2d(random.nextDouble() * 16.0, random.nextDouble() * 8.0, new Rotation2d(random.nextDouble() * 2.0 * Math.PI));
+            referencePoses[i] = new Pose2d(currentPoses[i].getX() + random.nextDouble() * 0.2, currentPoses[i].getY() - random.nextDouble() * 0.2, new Rotation2d(random.nextDouble() * 2.0 * Math.PI));
+            referenceVelocities[i] = random.nextDouble() * 4.0;
+            referenceAngles[i] = new Rotation2d(random.nextDouble() * 2.0 * Math.PI);
+        }
+    }
+
+    @Benchmark
+    public ChassisSpeeds calculate() {
+        index = (index + 1) & (SAMPLES - 1);
+        return controller.calculate(currentPoses[index], referencePoses[index], referenceVelocities[index], referenceAngles[index]);
+    }
+
+}
@@ -0,0 +1,80 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.interpolation.BallFlightTimeInterpolatingTable;
+import frc.robot.interpolation.InterpolatingTable;
+import frc.robot.interpolation.RadialShotInterpolatingTable;
+import frc.robot.subsystems.statemachines.FeedForwardInterpolatingTable;
+
+// Benchmarks the shot, ball flight time, radial shot and flywheel feed forward lookup tables
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterpolatingTableBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final double[] distances = new double[SAMPLES];
+    private final double[] flywheelRPMs = new double[SAMPLES];
+    private final double[] radialSpeeds = new double[SAMPLES];
+    private final double[] shot = new double[2];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            distances[i] = 2.0 + random.nextDouble() * 4.5;
+            flywheelRPMs[i] = 100.0 + random.nextDouble() * 4200.0;
+            radialSpeeds[i] = (random.nextDouble() - 0.5) * 7.0;
+        }
+    }
+
+    @Benchmark
+    public double[] shotTable() {
+        return InterpolatingTable.get(distances[next()], shot);
+    }
+
+    @Benchmark
+    public double[] shotTableGrid() {
+        return InterpolatingTable.getGrid().get(distances[next()], shot);
+    }
+
+    @Benchmark
+    public double[] shotTableReference() {
+        return InterpolatingTable.getTable().get(distances[next()], shot);
+    }
+
+    @Benchmark
+    public double ballFlightTimeTable() {
+        return BallFlightTimeInterpolatingTable.get(distances[next()]);
+    }
+
+    @Benchmark
+    public double radialShotTable() {
+        int i = next();
+        return RadialShotInterpolatingTable.get(distances[i], radialSpeeds[i]);
+    }
+
+    @Benchmark
+    public double feedForwardTable() {
+        return FeedForwardInterpolatingTable.get(flywheelRPMs[next()]);
+    }
+
+    // Cycles through the precomputed inputs so lookups cannot be constant folded
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+}
@@ -0,0 +1,56 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.subsystems.vision.RobotPositionHistory;
+
+// Benchmarks recording odometry into the position history and looking up a latency compensated pose
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RobotPositionHistoryBenchmark {
+
+    private static final double PERIOD = 0.02;
+
+    private final Pose2d pose = new Pose2d(3.0, 1.5, Rotation2d.fromDegrees(30.0));
+    private final double[] out = new double[3];
+    private double timestamp = 0.0;
+
+    @Setup
+    public void setup() {
+        RobotPositionHistory.clear();
+        for (int i = 0; i < 1000; i++) {
+            timestamp += PERIOD;
+            RobotPositionHistory.update(timestamp, new Pose2d(i * 0.01, i * 0.005, Rotation2d.fromDegrees(i * 0.1)));
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        timestamp += PERIOD;
+        RobotPositionHistory.update(timestamp, pose);
+    }
+
+    @Benchmark
+    public Pose2d get() {
+        // A typical vision latency of ~2.5 loops, so the lookup lands between two samples
+        return RobotPositionHistory.get(timestamp - 2.5 * PERIOD);
+    }
+
+    @Benchmark
+    public double[] getPrimitive() {
+        RobotPositionHistory.get(timestamp - 2.5 * PERIOD, out);
+        return out;
+    }
+
+}
@@ -0,0 +1,58 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.interpolation.InterpolatingTable;
+import frc.robot.subsystems.swerve.ShotOnTheMove;
+
+// Benchmarks the VisionFollowerController's shot-on-the-move math (latency compensation, aim point and shot lookup)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShotOnTheMoveBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final Pose2d[] visionPoses = new Pose2d[SAMPLES];
+    private final Pose2d[] currentPoses = new Pose2d[SAMPLES];
+    private final Pose2d[] historicalPoses = new Pose2d[SAMPLES];
+    private final Translation2d[] velocities = new Translation2d[SAMPLES];
+    private final ShotOnTheMove.Solution solution = new ShotOnTheMove.Solution();
+    private final double[] shot = new double[2];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            double distance = 2.0 + random.nextDouble() * 4.0;
+            double bearing = (random.nextDouble() - 0.5) * 2.0 * Math.PI;
+            visionPoses[i] = new Pose2d(distance * Math.cos(bearing), distance * Math.sin(bearing), new Rotation2d(bearing + Math.PI));
+            currentPoses[i] = new Pose2d(random.nextDouble() * 16.0, random.nextDouble() * 8.0, new Rotation2d(random.nextDouble() * 2.0 * Math.PI));
+            historicalPoses[i] = currentPoses[i].transformBy(new Transform2d(new Translation2d(-0.05, 0.02), Rotation2d.fromDegrees(-2.0)));
+            velocities[i] = new Translation2d((random.nextDouble() - 0.5) * 6.0, (random.nextDouble() - 0.5) * 6.0);
+        }
+    }
+
+    @Benchmark
+    public double[] shotOnTheMove() {
+        index = (index + 1) & (SAMPLES - 1);
+        Pose2d adjustedPoseEstimate = ShotOnTheMove.compensateLatency(visionPoses[index], currentPoses[index], historicalPoses[index]);
+        ShotOnTheMove.calculate(adjustedPoseEstimate, velocities[index], solution);
+        return InterpolatingTable.get(solution.aimDistance, shot);
+    }
+
+}
@@ -0,0 +1,82 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.subsystems.swerve.SwerveKinematics;
+import static frc.robot.Constants.Drive.*;
+
+// Compares the WPILib swerve kinematics with the allocation free SwerveKinematics used every loop by the Swerve
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwerveKinematicsBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final SwerveDriveKinematics wpilibKinematics = new SwerveDriveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
+    private final SwerveKinematics swerveKinematics = new SwerveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
+    private final double[] vxs = new double[SAMPLES];
+    private final double[] vys = new double[SAMPLES];
+    private final double[] omegas = new double[SAMPLES];
+    private final SwerveModuleState[] states = {new SwerveModuleState(), new SwerveModuleState(), new SwerveModuleState(), new SwerveModuleState()};
+    private final double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] chassisSpeeds = new double[3];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            vxs[i] = (random.nextDouble() - 0.5) * 8.0;
+            vys[i] = (random.nextDouble() - 0.5) * 8.0;
+            omegas[i] = (random.nextDouble() - 0.5) * 12.0;
+        }
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            speeds[i] = (random.nextDouble() - 0.5) * 8.0;
+            angles[i] = (random.nextDouble() - 0.5) * 8.0 * Math.PI;
+            states[i] = new SwerveModuleState(speeds[i], new Rotation2d(angles[i]));
+        }
+    }
+
+    @Benchmark
+    public SwerveModuleState[] wpilibInverse() {
+        index = (index + 1) & (SAMPLES - 1);
+        SwerveModuleState[] result = wpilibKinematics.toSwerveModuleStates(new ChassisSpeeds(vxs[index], vys[index], omegas[index]));
+        SwerveDriveKinematics.desaturateWheelSpeeds(result, ROBOT_MAX_SPEED);
+        return result;
+    }
+
+    @Benchmark
+    public double[] swerveKinematicsInverse() {
+        index = (index + 1) & (SAMPLES - 1);
+        swerveKinematics.toModuleStates(vxs[index], vys[index], omegas[index], speeds, angles);
+        SwerveKinematics.desaturateWheelSpeeds(speeds, ROBOT_MAX_SPEED);
+        return speeds;
+    }
+
+    @Benchmark
+    public ChassisSpeeds wpilibForward() {
+        return wpilibKinematics.toChassisSpeeds(states);
+    }
+
+    @Benchmark
+    public double[] swerveKinematicsForward() {
+        swerveKinematics.toChassisSpeeds(speeds, angles, chassisSpeeds);
+        return chassisSpeeds;
+    }
+
+}
@@ -0,0 +1,59 @@
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.subsystems.swerve.MK4iSwerveModule;
+
+// Benchmarks the per-module state optimization and continuous output math run four times every loop
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwerveModuleBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final double[] currentAngles = new double[SAMPLES];
+    private final SwerveModuleState[] desiredStates = new SwerveModuleState[SAMPLES];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(971);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Continuous angles wander over several turns on the robot
+            currentAngles[i] = (random.nextDouble() - 0.5) * 8.0 * Math.PI;
+            desiredStates[i] = new SwerveModuleState((random.nextDouble() - 0.5) * 8.0, new Rotation2d((random.nextDouble() - 0.5) * 2.0 * Math.PI));
+        }
+    }
+
+    @Benchmark
+    public double[] continuousOutput() {
+        index = (index + 1) & (SAMPLES - 1);
+        return MK4iSwerveModule.getContinousOutput(currentAngles[index], desiredStates[index]);
+    }
+
+    @Benchmark
+    public double[] optimizeAndContinuousOutput() {
+        index = (index + 1) & (SAMPLES - 1);
+        double currentAngle = currentAngles[index];
+        return MK4iSwerveModule.getContinousOutput(currentAngle, SwerveModuleState.optimize(desiredStates[index], new Rotation2d(currentAngle)));
+    }
+
+    @Benchmark
+    public double continuousAngle() {
+        index = (index + 1) & (SAMPLES - 1);
+        return MK4iSwerveModule.getContinuousAngle(currentAngles[index], desiredStates[index].angle.getRadians());
+    }
+
+}
@@ -6,6 +6,7 @@ import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.I2C;
 import edu.wpi.first.wpilibj.util.Color;
+import frc.robot.interpolation.Interpolation;
 
 // All Constants
 public final class Constants {
@@ -46,9 +47,30 @@ public final class Constants {
             Rotation2d.fromDegrees(-41.748-0.176) //BR
         };
 
+        // Odometry
+        public static final double ODOMETRY_FREQUENCY_HZ = 200.0; // Rate of the odometry thread
+
+        // Gyro
+        public static final byte NAVX_UPDATE_RATE_HZ = (byte) 200;
+        public static final int GYRO_HISTORY_CAPACITY = 512; // Yaw samples kept by the TimestampedGyro (rounded up to a power of two)
+        public static final double GYRO_TIMEOUT_SECONDS = 0.1; // Fall back to reading the navX directly if no sample arrives for this long
+        public static final double GYRO_CLOCK_DRIFT_ALLOWANCE_SECONDS = 1.0E-6; // How far the navX to FPGA clock offset may rise per sample
+
+        // Setpoint generator (limits how fast the module setpoints may change; the request is followed as fast as the limits allow)
+        public static final boolean SETPOINT_GENERATOR_ENABLED = true;
+        public static final double MAX_MODULE_ACCELERATION = 12.0; // m/s^2 change of any module's speed
+        public static final double MAX_MODULE_STEER_RATE = 4.0 * Math.PI; // rad/s of any module's azimuth
+        public static final double SETPOINT_GENERATOR_TIMEOUT_SECONDS = 0.1; // Restart from the measured module states after a longer gap between requests
+
+        // Simulation (physics models of the modules, see SwerveSim)
+        public static final double STEER_GEARING = 150.0 / 7.0; // MK4i steering reduction
+        public static final double DRIVE_SIM_INERTIA = 0.03; // kg m^2 at each wheel (a quarter of the robot's mass at the wheel radius)
+        public static final double STEER_SIM_INERTIA = 0.004; // kg m^2 of a module about its steering axis
+        public static final double SIM_DRIVE_KP = 4.0; // Volts per m/s of wheel speed error, on top of the motor's velocity feedforward
+        public static final double SIM_STEER_KP = 10.0; // Volts per radian of module angle error
+
         // Drive-by shooting constants
-        public static final double TANGENTIAL_SHOT_SCALAR = 0.6;
-        public static final double RADIAL_SHOT_SCALAR = 0.9;
+        public static final double TANGENTIAL_SHOT_SCALAR = 0.6; // Fraction of the tangential speed * ball flight time to lead the shot by
 
         // Measurements/Gearings
         public static final double MODULE_GEARING = (14.0/50.0) * (28.0/16.0) * (15.0/45.0);
@@ -132,6 +154,8 @@ public final class Constants {
         public static final double SHOOTER_IDLE_VEL = 0.0;
         public static final double FLYWHEEL_CALIBRATION = 0.9725;
         public static final double FLYWHEEL_GEARING = 19.0/36.0;
+        public static final Interpolation FEED_FORWARD_TABLE_INTERPOLATION = Interpolation.LINEAR; // MONOTONE_CUBIC smooths the curve between the tuned points
+        public static final String FEED_FORWARD_TABLE_FILE = "tables/flywheel_feed_forward.csv"; // Relative to the deploy directory
 
         // Other
         public static final TalonFXInvertType RIGHT_MOTOR_DIRECTION = TalonFXInvertType.OpposeMaster;
@@ -211,6 +235,24 @@ public final class Constants {
         public static double MOUNTING_PITCH = Units.degreesToRadians(27.0);
         public static final double CAMERA_TO_CENTER = Units.inchesToMeters(13.75);
         public static final double MAX_SHOT_DISTANCE = 5.3; // Distance in meters
+        public static final int POSITION_HISTORY_CAPACITY = 1024; // Samples kept by the RobotPositionHistory (rounded up to a power of two; ~5 s at ODOMETRY_FREQUENCY_HZ)
+
+        // Pose estimator (trust in odometry vs vision sets how much of each measurement's error is corrected)
+        public static final boolean POSE_ESTIMATOR_ENABLED = true;
+        public static final double POSE_ESTIMATOR_ODOMETRY_STD_DEV = 0.1; // Meters
+        public static final double POSE_ESTIMATOR_VISION_STD_DEV_PER_METER = 0.05; // Meters of vision error per meter to the hub
+        public static final double POSE_ESTIMATOR_MAX_INNOVATION = 1.0; // Measurements further than this (meters) from the estimate are rejected
+        public static final double POSE_ESTIMATOR_MAX_LATENCY_SECONDS = 0.5;
+
+        // Shot lookup table
+        public static final Interpolation SHOT_TABLE_INTERPOLATION = Interpolation.LINEAR; // Used by the shot and ball flight time tables; MONOTONE_CUBIC smooths the curve between the tuned points
+        public static final double SHOT_TABLE_GRID_STEP = 0.002; // Largest spacing (m) of the precomputed uniform grid
+        public static final double SHOT_TABLE_HOOD_TOLERANCE = 0.01; // Largest allowed grid vs reference table difference (degrees)
+        public static final double SHOT_TABLE_RPM_TOLERANCE = 0.5; // Largest allowed grid vs reference table difference (RPM)
+        public static final String SHOT_TABLE_FILE = "tables/shot.csv"; // Relative to the deploy directory
+        public static final String BALL_FLIGHT_TIME_TABLE_FILE = "tables/ball_flight_time.csv";
+        public static final String RADIAL_SHOT_TABLE_FILE = "tables/radial_shot.csv";
+        public static final double TABLE_RELOAD_DELAY_SECONDS = 0.25; // Wait after a table file changes before reading it, so the write can finish
 
         // Camera
         public static final double STREAM_RESOLUTION_X = 960.0;
@@ -219,6 +261,46 @@ public final class Constants {
         public static final double CAMERA_BASIS_PIXELS = (STREAM_RESOLUTION_Y/2.0)/Math.tan(Units.degreesToRadians(MAX_PITCH));
     }
 
+    // Constants pertaining to on-robot logging go here
+    public static class Logging {
+
+        // Segment sizes and disk budgets (per log)
+        public static final int LOG_SEGMENT_SIZE_BYTES = 4 * 1024 * 1024;
+        public static final long LOG_DISK_BUDGET_BYTES = 64L * 1024 * 1024;
+
+        // Flight recorder
+        public static final double FLIGHT_RECORDER_WINDOW_SECONDS = 10.0;
+        public static final double FLIGHT_RECORDER_COOLDOWN_SECONDS = 2.0;
+        public static final int FLIGHT_RECORDER_MAX_DUMPS = 20;
+
+        // Telemetry
+        public static final boolean TELEMETRY_ASYNC_FLUSH = true;
+
+        // Loop profiler and overrun watchdog
+        public static final double LOOP_PROFILER_PUBLISH_PERIOD_SECONDS = 1.0;
+        public static final double LOOP_BUDGET_SECONDS = 0.02;
+        public static final double LOOP_OVERRUN_WINDOW_SECONDS = 60.0;
+
+        // Allocation profiler (always on in simulation, where AllocationBudgetSimTest fails on loops over budget)
+        public static final boolean ALLOCATION_PROFILING_ENABLED = false;
+        public static final long ALLOCATION_BUDGET_BYTES_PER_LOOP = 128 * 1024;
+        public static final int ALLOCATION_WARMUP_LOOPS = 250;
+    }
+
+    // Constants pertaining to the motor controller drivers go here
+    public static class Drivers {
+
+        // Cached controllers re-send an unchanged demand at this interval
+        public static final double MOTOR_KEEP_ALIVE_SECONDS = 0.25;
+
+        // Closed loop setpoint and feedforward changes smaller than these are not sent (integrated sensor/CANCoder units, percent output, hood degrees)
+        // Open loop demands are only skipped on an exact match
+        public static final double TALON_VELOCITY_TOLERANCE = 0.5;
+        public static final double TALON_POSITION_TOLERANCE = 0.5;
+        public static final double FEED_FORWARD_TOLERANCE = 1.0E-4;
+        public static final double HOOD_POSITION_TOLERANCE = 0.01;
+    }
+
     // Constants pertaining to the autonomus period of the match
     public static class Autonomus {
 
@@ -12,11 +12,23 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.commons.AllocationProfiler;
+import frc.robot.commons.BreadTelemetry;
+import frc.robot.commons.BreadUtil;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.commons.LoopWatchdog;
+import frc.robot.drivers.CachedMotorController;
+import frc.robot.interpolation.BallFlightTimeInterpolatingTable;
+import frc.robot.interpolation.InterpolatingTable;
+import frc.robot.interpolation.RadialShotInterpolatingTable;
 import frc.robot.sensors.ColorSensor.BallColor;
+import frc.robot.subsystems.statemachines.FeedForwardInterpolatingTable;
 import frc.robot.subsystems.statemachines.GutNeck.GutNeckStates;
 import static frc.robot.Constants.Hood.*;
 import static frc.robot.Constants.Vision.*;
 import static frc.robot.Constants.Flywheel.*;
+import static frc.robot.Constants.Logging.*;
 
 public class Robot extends TimedRobot {
   private Command m_autonomousCommand;
@@ -27,6 +39,26 @@ public class Robot extends TimedRobot {
   private double lastResetToAbsolute = 0.0;
   private double lastCheckedColorSensorConnected = 0.0;
 
+  // Telemetry
+  private final BreadTelemetry.NumberEntry redTelemetry = BreadTelemetry.number("R");
+  private final BreadTelemetry.NumberEntry greenTelemetry = BreadTelemetry.number("G");
+  private final BreadTelemetry.NumberEntry blueTelemetry = BreadTelemetry.number("B");
+  private final BreadTelemetry.StringEntry ballColorTelemetry = BreadTelemetry.string("Ball Color");
+  private final BreadTelemetry.NumberEntry hueTelemetry = BreadTelemetry.number("Hue");
+  private final BreadTelemetry.NumberEntry saturationTelemetry = BreadTelemetry.number("Saturation");
+  private final BreadTelemetry.NumberEntry valueTelemetry = BreadTelemetry.number("Value");
+  private final BreadTelemetry.NumberEntry visionPoseHeadingTelemetry = BreadTelemetry.number("Latest Vision Pose Heading", 0.1, 10.0);
+  private final BreadTelemetry.NumberEntry rotationPoseTelemetry = BreadTelemetry.number("Rotation Pose", 0.1, 10.0);
+  private final BreadTelemetry.BooleanEntry validShotDistanceTelemetry = BreadTelemetry.bool("Valid Shot Distance");
+  private final BreadTelemetry.NumberEntry motorWritesSentTelemetry = BreadTelemetry.number("Motor Writes Sent", 0.5, 2.0);
+  private final BreadTelemetry.NumberEntry motorWritesSkippedTelemetry = BreadTelemetry.number("Motor Writes Skipped", 0.5, 2.0);
+
+  // Loop profiler sections
+  private final int robotPeriodicSection = LoopProfiler.register("Robot Periodic");
+  private final int schedulerSection = LoopProfiler.register("Scheduler");
+  private final int teleopPeriodicSection = LoopProfiler.register("Teleop Periodic");
+  private final int telemetrySection = LoopProfiler.register("Telemetry");
+
   @Override
   public void robotInit() {
     m_robotContainer = new RobotContainer();
@@ -34,22 +66,50 @@ public class Robot extends TimedRobot {
     SmartDashboard.putNumber("Hood Set", 0.0);
     SmartDashboard.putNumber("Flywheel Calibration", FLYWHEEL_CALIBRATION);
     SmartDashboard.putNumber("F-Mounting-Adjustment", 0.0);
+    BreadTelemetry.setFlushAsync(TELEMETRY_ASYNC_FLUSH);
+
+    // Load the tunable tables from the deploy directory; edits to the files are picked up while the robot runs
+    InterpolatingTable.load();
+    BallFlightTimeInterpolatingTable.load();
+    RadialShotInterpolatingTable.load();
+    FeedForwardInterpolatingTable.load();
+
+    // Context written with every loop overrun so it can be matched to what the robot was doing
+    LoopWatchdog.addContext("mode", () -> DriverStation.isAutonomous() ? "Auto" : DriverStation.isTeleop() ? "Teleop" : DriverStation.isDisabled() ? "Disabled" : "Test");
+    LoopWatchdog.addContext("shooter", () -> RobotContainer.shooter.getSystemState().name());
+    LoopWatchdog.addContext("gutneck", () -> RobotContainer.gutNeck.getSystemState().name());
+    LoopWatchdog.addContext("climber", () -> RobotContainer.climber.getSystemState().name());
+  }
+
+  // Wraps every loop (mode periodic, robot periodic and the dashboard updates) in the overrun watchdog and allocation profiler
+  @Override
+  protected void loopFunc() {
+    LoopWatchdog.beginLoop();
+    AllocationProfiler.beginLoop();
+    super.loopFunc();
+    AllocationProfiler.endLoop();
+    LoopWatchdog.endLoop();
   }
 
   @Override
   public void robotPeriodic() {
+    LoopProfiler.start(robotPeriodicSection);
+    double loopStartTimestamp = BreadUtil.getFPGATimeSeconds();
+
+    LoopProfiler.start(schedulerSection);
     CommandScheduler.getInstance().run();
+    LoopProfiler.stop(schedulerSection);
 
     Color d = RobotContainer.gutNeck.colorSensor.getColor();
     float[] f = RobotContainer.gutNeck.colorSensor.getHSB();
-    SmartDashboard.putNumber("R", d.red);
-    SmartDashboard.putNumber("G", d.green);
-    SmartDashboard.putNumber("B", d.blue);
-    SmartDashboard.putString("Ball Color", RobotContainer.gutNeck.colorSensor.get().name());
+    redTelemetry.set(d.red);
+    greenTelemetry.set(d.green);
+    blueTelemetry.set(d.blue);
+    ballColorTelemetry.set(RobotContainer.gutNeck.colorSensor.get().name());
 
-    SmartDashboard.putNumber("Hue", f[0]);
-    SmartDashboard.putNumber("Saturation", f[1]);
-    SmartDashboard.putNumber("Value", f[2]);
+    hueTelemetry.set(f[0]);
+    saturationTelemetry.set(f[1]);
+    valueTelemetry.set(f[2]);
 
     // System.out.printf("Detected: %s, Value: %.3f\n", RobotContainer.gutNeck.colorSensor.get().name(), f[2]);
 
@@ -58,12 +118,26 @@ public class Robot extends TimedRobot {
     //   RobotContainer.gutNeck.colorSensor.intialize();
     // } TODO
 
-    SmartDashboard.putNumber("Latest Vision Pose Heading", getLatestVisonPoseEstimate().getRotation().getDegrees());
-    SmartDashboard.putNumber("Rotation Pose", RobotContainer.swerve.getPose().getRotation().getDegrees());
+    visionPoseHeadingTelemetry.set(getLatestVisonPoseEstimate().getRotation().getDegrees());
+    rotationPoseTelemetry.set(RobotContainer.swerve.getPose().getRotation().getDegrees());
+    motorWritesSentTelemetry.set(CachedMotorController.getSentWrites());
+    motorWritesSkippedTelemetry.set(CachedMotorController.getSkippedWrites());
+
+    LoopProfiler.start(telemetrySection);
+    LoopProfiler.publish(loopStartTimestamp);
+    LoopWatchdog.publish(loopStartTimestamp);
+    AllocationProfiler.publish();
+    BreadTelemetry.flush();
+    FlightRecorder.commitFrame(loopStartTimestamp);
+    LoopProfiler.stop(telemetrySection);
+
+    LoopProfiler.stop(robotPeriodicSection);
   }
 
   @Override
   public void disabledInit() {
+    FlightRecorder.trigger("Disabled");
+    LoopProfiler.printSummary();
     lastResetToAbsolute = RobotController.getFPGATime()/1.0E6;
   }
 
@@ -83,6 +157,10 @@ public class Robot extends TimedRobot {
 
   @Override
   public void autonomousInit() {
+    // Start each match with empty loop timing histograms
+    LoopProfiler.reset();
+    AllocationProfiler.reset();
+
     // Set alliance color
     allianceColor = DriverStation.getAlliance() == Alliance.Red ? BallColor.RED : BallColor.BLUE;
 
@@ -121,7 +199,9 @@ public class Robot extends TimedRobot {
 
   @Override
   public void teleopPeriodic() {
+    LoopProfiler.start(teleopPeriodicSection);
     configureTeleopControls();
+    LoopProfiler.stop(teleopPeriodicSection);
   }
 
   @Override
@@ -155,7 +235,7 @@ public class Robot extends TimedRobot {
 
     double distance = RobotContainer.vision.getCameraToCenterOfHub();
 
-    SmartDashboard.putBoolean("Valid Shot Distance", distance<=MAX_SHOT_DISTANCE);
+    validShotDistanceTelemetry.set(distance<=MAX_SHOT_DISTANCE);
 
     // Driver shooting signals
     if (RobotContainer.driver.getAButton()) {
@@ -10,11 +10,13 @@ import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.button.JoystickButton;
 import frc.robot.subsystems.vision.Vision;
 import frc.robot.autonomus.AutonomusSelector;
+import frc.robot.commons.ProfiledCommand;
 import frc.robot.subsystems.climber.Climber;
 import frc.robot.subsystems.statemachines.GutNeck;
 import frc.robot.subsystems.statemachines.Intake;
 import frc.robot.subsystems.statemachines.Shooter;
 import frc.robot.subsystems.swerve.DefaultDriveController;
+import frc.robot.subsystems.swerve.PoseEstimator;
 import frc.robot.subsystems.swerve.Swerve;
 import frc.robot.subsystems.swerve.VisionFollowerController;
 import static frc.robot.Constants.DualIntake.*;
@@ -28,6 +30,7 @@ public class RobotContainer {
   public static Intake rightIntake = new Intake(RIGHT_INTAKE_ID, TalonFXInvertType.CounterClockwise, RIGHT_INTAKE_PISTON_CHANNELS[0], RIGHT_INTAKE_PISTON_CHANNELS[1], 0);
   public static GutNeck gutNeck = new GutNeck();
   public static Vision vision = new Vision();
+  public static PoseEstimator poseEstimator = new PoseEstimator(swerve, vision);
   public static Climber climber = new Climber();
   public static Compressor compressor = new Compressor(PneumaticsModuleType.CTREPCM);
   public static XboxController driver = new XboxController(0);
@@ -36,26 +39,27 @@ public class RobotContainer {
   public static AutonomusSelector autonomusSelector = new AutonomusSelector(swerve, shooter, leftIntake, rightIntake, gutNeck);
 
   public RobotContainer() {
-    swerve.setDefaultCommand(new DefaultDriveController(swerve));
+    swerve.setDefaultCommand(ProfiledCommand.of(new DefaultDriveController(swerve)));
     configureButtonBindings();
   }
 
+  // Commands are bound through ProfiledCommand.of() so the LoopProfiler times their execute()
   private void configureButtonBindings() {
     new JoystickButton(driver, Button.kStart.value).whenPressed(
-      new InstantCommand(() -> swerve.reset(new Pose2d()), swerve)
+      ProfiledCommand.of(new InstantCommand(() -> swerve.reset(new Pose2d()), swerve))
     );
 
     new JoystickButton(driver, Button.kRightStick.value).whileHeld(
-      new VisionFollowerController(swerve)
+      ProfiledCommand.of(new VisionFollowerController(swerve))
     );
 
     new JoystickButton(driver, Button.kRightBumper.value).whileHeld(
-      new VisionFollowerController(swerve)
+      ProfiledCommand.of(new VisionFollowerController(swerve))
     );
 
   }
 
   public Command getAutonomousCommand() {
-    return autonomusSelector.get();
+    return ProfiledCommand.of(autonomusSelector.get());
   }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package frc.robot.commons;
+
+import java.lang.management.ManagementFactory;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import static frc.robot.Constants.Logging.*;
+
+// Measures the bytes allocated by the robot loop thread, per loop and (through LoopProfiler) per section
+// Enabled in simulation or when ALLOCATION_PROFILING_ENABLED is set; a loop that allocates more than ALLOCATION_BUDGET_BYTES_PER_LOOP
+// after the warmup is counted and reported as a warning (AllocationBudgetSimTest fails on the count), so allocation regressions are caught before they become GC pauses
+//
+// Only the robot loop thread may call into this class
+public class AllocationProfiler {
+
+    private static final com.sun.management.ThreadMXBean threadBean = createThreadBean();
+    private static final boolean enabled = threadBean != null && (ALLOCATION_PROFILING_ENABLED || RobotBase.isSimulation());
+    private static final long readOverheadBytes = calibrate();
+
+    // Loop state
+    private static long threadId = -1;
+    private static long reads = 0;
+    private static long loopStartBytes = 0;
+    private static long loopCount = 0;
+    private static long lastLoopBytes = 0;
+    private static long maxLoopBytes = 0;
+    private static long overBudgetLoops = 0;
+
+    // Telemetry
+    private static final BreadTelemetry.NumberEntry lastLoopTelemetry = BreadTelemetry.number("Alloc/Loop (bytes)", 1.0, 5.0);
+    private static final BreadTelemetry.NumberEntry maxLoopTelemetry = BreadTelemetry.number("Alloc/Loop Max (bytes)", 1.0, 5.0);
+    private static final BreadTelemetry.NumberEntry overBudgetTelemetry = BreadTelemetry.number("Alloc/Loops Over Budget", 0.5, 2.0);
+
+    // Private constructor so that the class cannot be instantiated
+    private AllocationProfiler() {}
+
+    // Returns whether allocations are being measured
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns the bytes allocated so far by the calling thread, minus what the measurements themselves allocated
+    public static long getAllocatedBytes() {
+        if (threadId < 0) {
+            threadId = Thread.currentThread().getId();
+        }
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - reads * readOverheadBytes;
+        reads++;
+        return bytes;
+    }
+
+    // Marks the start of a loop
+    public static void beginLoop() {
+        if (enabled) {
+            loopStartBytes = getAllocatedBytes();
+        }
+    }
+
+    // Marks the end of a loop and checks it against the allocation budget
+    public static void endLoop() {
+        if (!enabled) {
+            return;
+        }
+        lastLoopBytes = getAllocatedBytes() - loopStartBytes;
+        loopCount++;
+        if (loopCount <= ALLOCATION_WARMUP_LOOPS) {
+            return;
+        }
+        maxLoopBytes = Math.max(maxLoopBytes, lastLoopBytes);
+        if (lastLoopBytes > ALLOCATION_BUDGET_BYTES_PER_LOOP) {
+            overBudgetLoops++;
+            DriverStation.reportWarning("Robot loop allocated " + lastLoopBytes + " bytes (budget " + ALLOCATION_BUDGET_BYTES_PER_LOOP + "); " + LoopProfiler.describeAllocations(), false);
+        }
+    }
+
+    // Returns the bytes allocated by the most recent loop
+    public static long getLastLoopBytes() {
+        return lastLoopBytes;
+    }
+
+    // Returns the most bytes allocated by a single loop after the warmup
+    public static long getMaxLoopBytes() {
+        return maxLoopBytes;
+    }
+
+    // Returns the number of loops that went over the budget
+    public static long getOverBudgetLoops() {
+        return overBudgetLoops;
+    }
+
+    // Publishes the per-loop numbers; LoopProfiler publishes the per-section numbers
+    public static void publish() {
+        if (enabled) {
+            lastLoopTelemetry.set(lastLoopBytes);
+            maxLoopTelemetry.set(maxLoopBytes);
+            overBudgetTelemetry.set(overBudgetLoops);
+        }
+    }
+
+    // Clears the maximum and over budget count; called at the start of each match
+    public static void reset() {
+        maxLoopBytes = 0;
+        overBudgetLoops = 0;
+    }
+
+    // Returns the HotSpot thread bean, or null if this JVM cannot measure allocations
+    private static com.sun.management.ThreadMXBean createThreadBean() {
+        try {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!bean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        } catch (ClassCastException | UnsupportedOperationException e) {
+            System.out.println("Allocation profiling is not supported on this JVM");
+            return null;
+        }
+    }
+
+    // Measures how many bytes a single getThreadAllocatedBytes() call allocates on this JVM (0 on newer JDKs)
+    private static long calibrate() {
+        if (threadBean == null) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId();
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long first = threadBean.getThreadAllocatedBytes(id);
+            long second = threadBean.getThreadAllocatedBytes(id);
+            overhead = Math.min(overhead, second - first);
+        }
+        return Math.max(0, overhead);
+    }
+
+}
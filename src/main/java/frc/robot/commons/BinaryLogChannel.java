@@ -0,0 +1,211 @@
+package frc.robot.commons;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import static frc.robot.Constants.Logging.*;
+
+// Typed binary log channel; records are encoded straight into preallocated buffers and written by the BreadLogWriter thread
+// into size-capped "fileName-NNNNN.bin" segments, each starting with the session header
+//
+// Usage (allocation free):
+//     channel.begin().putLong(timestamp).putDouble(velocity).putDouble(setpoint).commit();
+public class BinaryLogChannel implements BreadLogWriter.Sink {
+
+    // Every session in a file starts with this magic followed by the schema
+    public static final byte[] MAGIC = "BRDLOG01".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BUFFER_COUNT = 4;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final long PUBLISH_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final LogSchema schema;
+    private final LogSegmentStore store;
+
+    // Ring of buffers; the producer fills buffers[tail % BUFFER_COUNT], the writer drains [head, tail)
+    private final ByteBuffer[] buffers = new ByteBuffer[BUFFER_COUNT];
+    private final AtomicLong head = new AtomicLong(0);
+    private final AtomicLong tail = new AtomicLong(0);
+    private ByteBuffer active;
+    private long lastPublishNanos = System.nanoTime();
+
+    // Record in progress
+    private int field = -1;
+    private int recordStart = 0;
+
+    // Statistics
+    private final AtomicLong dropped = new AtomicLong(0);
+    private final AtomicLong written = new AtomicLong(0);
+
+    // Constructs a new channel that logs to "fileName-NNNNN.bin" segments using the given schema
+    public BinaryLogChannel(String fileName, String schemaDefinition) {
+        this(fileName, schemaDefinition, LOG_SEGMENT_SIZE_BYTES, LOG_DISK_BUDGET_BYTES);
+    }
+
+    // Constructs a new channel with an explicit segment size and disk budget
+    public BinaryLogChannel(String fileName, String schemaDefinition, int segmentSizeBytes, long diskBudgetBytes) {
+        this.schema = new LogSchema(schemaDefinition);
+        if (schema.getRecordSize() > BUFFER_SIZE) {
+            throw new IllegalArgumentException("Log schema \"" + schemaDefinition + "\" is larger than a channel buffer");
+        }
+        this.store = new LogSegmentStore(Filesystem.getOperatingDirectory(), fileName, ".bin", segmentSizeBytes, diskBudgetBytes, encodeHeader(schema), schema.getRecordSize());
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        active = buffers[0];
+        BreadLogger.files.add(fileName);
+        BreadLogWriter.register(this);
+    }
+
+    // Returns the schema of this channel
+    public LogSchema getSchema() {
+        return schema;
+    }
+
+    // Begins a new record; every field must then be put in schema order before commit()
+    // A record begun but never committed is discarded, so its fields are not published as the start of a record
+    public BinaryLogChannel begin() {
+        if (field >= 0) {
+            active.position(recordStart);
+            dropped.incrementAndGet();
+        }
+        if (active.remaining() < schema.getRecordSize()) {
+            publish();
+        }
+        recordStart = active.position();
+        field = 0;
+        return this;
+    }
+
+    // Puts the next field as a long
+    public BinaryLogChannel putLong(long value) {
+        if (check(LogSchema.FieldType.LONG)) active.putLong(value);
+        return this;
+    }
+
+    // Puts the next field as a double
+    public BinaryLogChannel putDouble(double value) {
+        if (check(LogSchema.FieldType.DOUBLE)) active.putDouble(value);
+        return this;
+    }
+
+    // Puts the next field as an int
+    public BinaryLogChannel putInt(int value) {
+        if (check(LogSchema.FieldType.INT)) active.putInt(value);
+        return this;
+    }
+
+    // Puts the next field as a float
+    public BinaryLogChannel putFloat(float value) {
+        if (check(LogSchema.FieldType.FLOAT)) active.putFloat(value);
+        return this;
+    }
+
+    // Puts the next field as a boolean
+    public BinaryLogChannel putBoolean(boolean value) {
+        if (check(LogSchema.FieldType.BOOLEAN)) active.put((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    // Finishes the current record; incomplete records are discarded
+    public void commit() {
+        if (field < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (field != schema.getFieldCount()) {
+            active.position(recordStart);
+            dropped.incrementAndGet();
+        } else {
+            written.incrementAndGet();
+        }
+        field = -1;
+        if (System.nanoTime() - lastPublishNanos > PUBLISH_PERIOD_NANOS) {
+            publish();
+        }
+    }
+
+    // Hands the partially filled buffer to the writer thread
+    public void flush() {
+        publish();
+        BreadLogWriter.requestDrain();
+    }
+
+    // Returns the number of records dropped because the writer fell behind or a record was malformed
+    public long getDroppedRecords() {
+        return dropped.get();
+    }
+
+    // Returns the number of records committed
+    public long getWrittenRecords() {
+        return written.get();
+    }
+
+    // Returns the number of filled buffers waiting to be written
+    public long getQueueDepth() {
+        return tail.get() - head.get();
+    }
+
+    // Writes every published buffer; only called from the writer thread
+    // Published buffers are already flipped, so if a write throws part way the buffer keeps its position and the next drain
+    // resumes with the bytes that were not written yet instead of repeating (or losing) the ones that were
+    @Override
+    public void drain() throws IOException {
+        long h = head.get();
+        long t = tail.get();
+        if (h == t) {
+            return;
+        }
+        while (h < t) {
+            ByteBuffer buffer = buffers[(int) (h % BUFFER_COUNT)];
+            store.write(buffer);
+            buffer.clear();
+            h++;
+            head.lazySet(h);
+        }
+    }
+
+    // Encodes the session header written at the start of every segment
+    public static ByteBuffer encodeHeader(LogSchema schema) {
+        byte[] definition = schema.getDefinition().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 4 + definition.length);
+        header.put(MAGIC).putInt(definition.length).put(definition);
+        header.flip();
+        return header;
+    }
+
+    // Verifies the next field type, discarding the record on a mismatch
+    private boolean check(LogSchema.FieldType type) {
+        if (field < 0) {
+            return false;
+        }
+        if (field >= schema.getFieldCount() || schema.getType(field) != type) {
+            field = Integer.MAX_VALUE;
+            return false;
+        }
+        field++;
+        return true;
+    }
+
+    // Publishes the active buffer (flipped for reading) and moves to the next free one, dropping its contents if none is free
+    private void publish() {
+        lastPublishNanos = System.nanoTime();
+        if (active.position() == 0) {
+            return;
+        }
+        long t = tail.get();
+        if (t + 1 - head.get() >= BUFFER_COUNT) {
+            dropped.addAndGet(active.position() / schema.getRecordSize());
+            active.clear();
+            return;
+        }
+        active.flip();
+        tail.lazySet(t + 1);
+        active = buffers[(int) ((t + 1) % BUFFER_COUNT)];
+    }
+
+}
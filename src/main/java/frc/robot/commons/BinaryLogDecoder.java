@@ -0,0 +1,103 @@
+package frc.robot.commons;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Offline tool that converts a BinaryLogChannel file back into CSV
+//
+// Usage: java -cp robot.jar frc.robot.commons.BinaryLogDecoder FlywheelData-00003.bin [FlywheelData-00003.csv]
+public class BinaryLogDecoder {
+
+    // Private constructor so that the class cannot be instantiated
+    private BinaryLogDecoder() {}
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BinaryLogDecoder <input.bin> [output.csv]");
+            System.exit(1);
+        }
+        Path input = Paths.get(args[0]);
+        Path output = args.length > 1 ? Paths.get(args[1]) : Paths.get(args[0].replaceAll("\\.bin$", "") + ".csv");
+        int records = decode(input, output);
+        System.out.println("Decoded " + records + " records to " + output);
+    }
+
+    // Decodes every session in the input file into a CSV file; returns the number of records decoded
+    public static int decode(Path input, Path output) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(input));
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            return decode(data, out);
+        }
+    }
+
+    // Decodes every session in the buffer, writing a header line at the start of each session
+    public static int decode(ByteBuffer data, Writer out) throws IOException {
+        int records = 0;
+        LogSchema schema = null;
+        StringBuilder line = new StringBuilder();
+        while (data.hasRemaining()) {
+            if (startsWithMagic(data)) {
+                data.position(data.position() + BinaryLogChannel.MAGIC.length);
+                byte[] definition = new byte[data.getInt()];
+                data.get(definition);
+                schema = new LogSchema(new String(definition, StandardCharsets.UTF_8));
+                line.setLength(0);
+                for (int i = 0; i < schema.getFieldCount(); i++) {
+                    if (i > 0) line.append(", ");
+                    line.append(schema.getName(i));
+                }
+                out.write(line.append('\n').toString());
+                continue;
+            }
+            if (schema == null) {
+                throw new IOException("Binary log does not start with a session header");
+            }
+            if (data.remaining() < schema.getRecordSize() || isZeroPadding(data)) {
+                break; // Truncated final record or unfinished segment padding (e.g. power loss mid-write)
+            }
+            line.setLength(0);
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                if (i > 0) line.append(", ");
+                switch (schema.getType(i)) {
+                    case LONG: line.append(data.getLong()); break;
+                    case DOUBLE: line.append(data.getDouble()); break;
+                    case INT: line.append(data.getInt()); break;
+                    case FLOAT: line.append(data.getFloat()); break;
+                    case BOOLEAN: line.append(data.get() != 0); break;
+                }
+            }
+            out.write(line.append('\n').toString());
+            records++;
+        }
+        out.flush();
+        return records;
+    }
+
+    // Returns whether everything left in the buffer is zero padding from a segment that was never finished
+    private static boolean isZeroPadding(ByteBuffer data) {
+        for (int i = data.position(); i < data.limit(); i++) {
+            if (data.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns whether the buffer is positioned at a session header
+    private static boolean startsWithMagic(ByteBuffer data) {
+        int length = BinaryLogChannel.MAGIC.length;
+        if (data.remaining() < length) {
+            return false;
+        }
+        byte[] next = new byte[length];
+        data.duplicate().get(next);
+        return Arrays.equals(next, BinaryLogChannel.MAGIC);
+    }
+
+}
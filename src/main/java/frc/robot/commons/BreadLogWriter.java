@@ -0,0 +1,63 @@
+package frc.robot.commons;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Background thread that periodically drains every registered log sink so disk I/O never runs in the robot loop
+public class BreadLogWriter {
+
+    // Interface for anything that buffers log data in memory and can write it out on the writer thread
+    public interface Sink {
+        void drain() throws IOException;
+    }
+
+    private static final long DRAIN_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final List<Sink> sinks = new CopyOnWriteArrayList<>();
+    private static Thread thread;
+
+    // Private constructor so that the class cannot be instantiated
+    private BreadLogWriter() {}
+
+    // Registers a sink with the writer thread, starting the thread if needed
+    public static synchronized void register(Sink sink) {
+        sinks.add(sink);
+        if (thread == null) {
+            thread = new Thread(BreadLogWriter::run, "BreadLogWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(BreadLogWriter::drainAll, "BreadLogWriterShutdown"));
+        }
+    }
+
+    // Wakes the writer thread so that it drains immediately
+    public static void requestDrain() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    // Writer thread loop
+    private static void run() {
+        while (true) {
+            drainAll();
+            LockSupport.parkNanos(DRAIN_PERIOD_NANOS);
+        }
+    }
+
+    // Drains every sink once
+    private static synchronized void drainAll() {
+        for (Sink sink : sinks) {
+            try {
+                sink.drain();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+}
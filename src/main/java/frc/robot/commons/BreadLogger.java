@@ -2,25 +2,72 @@ package frc.robot.commons;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import edu.wpi.first.wpilibj.Filesystem;
+import static frc.robot.Constants.Logging.*;
 
-public class BreadLogger {
+public class BreadLogger implements BreadLogWriter.Sink {
 
     public static List<String> files = new ArrayList<>();
     public final String path;
-    
+
+    // Async mode state; the buffer is filled by the robot loop and drained by the writer thread
+    private static final int ASYNC_BUFFER_CAPACITY = 4096;
+    private static final int ASYNC_MAX_COLUMNS = 16;
+    private final LogRingBuffer buffer;
+    private final LogSegmentStore store;
+    private final StringBuilder pending = new StringBuilder(64 * 1024);
+
     // Constructs a new bread logger object with the file name "fileName"
     public BreadLogger(String fileName) {
+        this(fileName, false);
+    }
+
+    // Constructs a new bread logger; when async is true writes are queued and flushed by a background thread
+    // into size-capped "fileName-NNNNN.csv" segments instead of the single unbounded file
+    public BreadLogger(String fileName, boolean async) {
+        this(fileName, async, LOG_SEGMENT_SIZE_BYTES, LOG_DISK_BUDGET_BYTES);
+    }
+
+    // Constructs a new async-capable bread logger with an explicit segment size and disk budget
+    public BreadLogger(String fileName, boolean async, int segmentSizeBytes, long diskBudgetBytes) {
         this.path = Filesystem.getOperatingDirectory() + "/" + fileName + ".csv";
         files.add(fileName);
-        
+        if (async) {
+            buffer = new LogRingBuffer(ASYNC_BUFFER_CAPACITY, ASYNC_MAX_COLUMNS);
+            store = new LogSegmentStore(Filesystem.getOperatingDirectory(), fileName, ".csv", segmentSizeBytes, diskBudgetBytes, null, 1);
+            BreadLogWriter.register(this);
+        } else {
+            buffer = null;
+            store = null;
+        }
+    }
+
+    // Returns whether this logger queues its writes
+    public boolean isAsync() {
+        return buffer != null;
+    }
+
+    // Returns the number of records dropped because the queue was full
+    public long getDroppedRecords() {
+        return buffer == null ? 0 : buffer.getDropped();
     }
-    
 
-    // Method to clear this file
+    // Returns the number of records waiting to be written
+    public long getQueueDepth() {
+        return buffer == null ? 0 : buffer.getDepth();
+    }
+
+    // Returns the deepest the queue has been
+    public long getQueueHighWaterMark() {
+        return buffer == null ? 0 : buffer.getHighWaterMark();
+    }
+
+    // Method to clear this file (async loggers instead rotate segments under their disk budget)
     public void clear() throws IOException {
         new FileWriter(path).close();
     }
@@ -28,19 +75,27 @@ public class BreadLogger {
     // Method to write to this file
     public void write(String... content) throws IOException {
         if (content.length > 0) {
-            String toWrite = "";
+            if (buffer != null) {
+                buffer.offer(content);
+                return;
+            }
+            StringBuilder toWrite = new StringBuilder();
             for (int i = 0; i < content.length - 1; i++) {
-                toWrite = toWrite + content[i] + ", ";
+                toWrite.append(content[i]).append(", ");
             }
-            toWrite = toWrite + content[content.length - 1] + "\n";
+            toWrite.append(content[content.length - 1]).append('\n');
             FileWriter w = new FileWriter(path, true);
-            w.write(toWrite);
+            w.write(toWrite.toString());
             w.close();
         }
     }
 
     // Overload to write to this file
     public void write(int... content) throws IOException {
+        if (buffer != null) {
+            if (content.length > 0) buffer.offer(content);
+            return;
+        }
         String[] stringContent = new String[content.length];
         for (int i = 0; i < content.length; i++) {
             stringContent[i] = String.valueOf(content[i]);
@@ -50,10 +105,25 @@ public class BreadLogger {
 
     // Overload to read from this file
     public void write(double... content) throws IOException {
+        if (buffer != null) {
+            if (content.length > 0) buffer.offer(content, false);
+            return;
+        }
         String[] stringContent = new String[content.length];
         for (int i = 0; i < content.length; i++) {
             stringContent[i] = String.valueOf(content[i]);
         }
         write(stringContent);
     }
+
+    // Writes every queued record in one sequential write; only called from the writer thread
+    @Override
+    public void drain() throws IOException {
+        if (buffer == null || buffer.getDepth() == 0) {
+            return;
+        }
+        pending.setLength(0);
+        buffer.drainTo(pending);
+        store.write(StandardCharsets.US_ASCII.encode(CharBuffer.wrap(pending)));
+    }
 }
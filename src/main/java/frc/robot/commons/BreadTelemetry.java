@@ -0,0 +1,205 @@
+package frc.robot.commons;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+// Change-detecting, rate-limited replacement for per-loop SmartDashboard puts
+// Entries are resolved once against the SmartDashboard table (so dashboards see the same keys), set() only records
+// the latest value, and flush() publishes the values that changed by more than their epsilon and are not rate limited
+//
+// Usage: private final BreadTelemetry.NumberEntry velocity = BreadTelemetry.number("Flywheel Velocity");
+//        velocity.set(getFlywheelVelocity()); ... BreadTelemetry.flush(); (once per loop, in Robot.robotPeriodic)
+public class BreadTelemetry {
+
+    private static final double DEFAULT_EPSILON = 1.0E-3;
+    private static final double DEFAULT_MAX_RATE_HZ = 50.0;
+
+    private static final NetworkTable table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
+    private static final List<Entry> entries = new CopyOnWriteArrayList<>();
+    private static volatile boolean flushAsync = false;
+    private static Thread flushThread;
+
+    // Private constructor so that the class cannot be instantiated
+    private BreadTelemetry() {}
+
+    // Base class for a pre-resolved telemetry entry
+    public abstract static class Entry {
+        protected final NetworkTableEntry entry;
+        private final long minPeriodMicros;
+        private long lastPublishMicros = Long.MIN_VALUE / 2;
+
+        private Entry(String key, double maxRateHz) {
+            this.entry = table.getEntry(key);
+            this.minPeriodMicros = maxRateHz > 0.0 ? (long) (1.0E6 / maxRateHz) : 0;
+        }
+
+        // Publishes the pending value if it changed and the rate limit allows
+        private void flush(long nowMicros) {
+            if (nowMicros - lastPublishMicros >= minPeriodMicros && publishIfChanged()) {
+                lastPublishMicros = nowMicros;
+            }
+        }
+
+        // Returns true if a value was published
+        protected abstract boolean publishIfChanged();
+    }
+
+    // Numeric telemetry entry
+    public static class NumberEntry extends Entry {
+        private final double epsilon;
+        private volatile double pending = Double.NaN;
+        private double published = Double.NaN;
+
+        private NumberEntry(String key, double epsilon, double maxRateHz) {
+            super(key, maxRateHz);
+            this.epsilon = epsilon;
+        }
+
+        // Records the latest value; published on the next flush
+        public void set(double value) {
+            pending = value;
+        }
+
+        // Reads the value currently in the table (for values edited from the dashboard)
+        public double get(double defaultValue) {
+            return entry.getDouble(defaultValue);
+        }
+
+        @Override
+        protected boolean publishIfChanged() {
+            double value = pending;
+            if (Double.isNaN(value) || (!Double.isNaN(published) && Math.abs(value - published) <= epsilon)) {
+                return false;
+            }
+            entry.setDouble(value);
+            published = value;
+            return true;
+        }
+    }
+
+    // Boolean telemetry entry
+    public static class BooleanEntry extends Entry {
+        private volatile int pending = -1;
+        private int published = -1;
+
+        private BooleanEntry(String key, double maxRateHz) {
+            super(key, maxRateHz);
+        }
+
+        // Records the latest value; published on the next flush
+        public void set(boolean value) {
+            pending = value ? 1 : 0;
+        }
+
+        @Override
+        protected boolean publishIfChanged() {
+            int value = pending;
+            if (value < 0 || value == published) {
+                return false;
+            }
+            entry.setBoolean(value == 1);
+            published = value;
+            return true;
+        }
+    }
+
+    // String telemetry entry
+    public static class StringEntry extends Entry {
+        private volatile String pending = null;
+        private String published = null;
+
+        private StringEntry(String key, double maxRateHz) {
+            super(key, maxRateHz);
+        }
+
+        // Records the latest value; published on the next flush
+        public void set(String value) {
+            pending = value;
+        }
+
+        @Override
+        protected boolean publishIfChanged() {
+            String value = pending;
+            if (value == null || value.equals(published)) {
+                return false;
+            }
+            entry.setString(value);
+            published = value;
+            return true;
+        }
+    }
+
+    // Creates a numeric entry with the default epsilon and rate
+    public static NumberEntry number(String key) {
+        return number(key, DEFAULT_EPSILON, DEFAULT_MAX_RATE_HZ);
+    }
+
+    // Creates a numeric entry that is only published when it changes by more than epsilon, at most maxRateHz times per second
+    public static NumberEntry number(String key, double epsilon, double maxRateHz) {
+        return register(new NumberEntry(key, epsilon, maxRateHz));
+    }
+
+    // Creates a boolean entry with the default rate
+    public static BooleanEntry bool(String key) {
+        return bool(key, DEFAULT_MAX_RATE_HZ);
+    }
+
+    // Creates a boolean entry published at most maxRateHz times per second
+    public static BooleanEntry bool(String key, double maxRateHz) {
+        return register(new BooleanEntry(key, maxRateHz));
+    }
+
+    // Creates a string entry with the default rate
+    public static StringEntry string(String key) {
+        return string(key, DEFAULT_MAX_RATE_HZ);
+    }
+
+    // Creates a string entry published at most maxRateHz times per second
+    public static StringEntry string(String key, double maxRateHz) {
+        return register(new StringEntry(key, maxRateHz));
+    }
+
+    // Moves publishing onto a background thread; flush() then only wakes that thread
+    public static synchronized void setFlushAsync(boolean async) {
+        flushAsync = async;
+        if (async && flushThread == null) {
+            flushThread = new Thread(() -> {
+                while (true) {
+                    LockSupport.park();
+                    publishAll();
+                }
+            }, "BreadTelemetry");
+            flushThread.setDaemon(true);
+            flushThread.start();
+        }
+    }
+
+    // Publishes every changed entry; call once per loop
+    public static void flush() {
+        if (flushAsync) {
+            LockSupport.unpark(flushThread);
+        } else {
+            publishAll();
+        }
+    }
+
+    // Publishes every changed entry on the calling thread
+    private static void publishAll() {
+        long now = System.nanoTime() / 1000;
+        for (Entry entry : entries) {
+            entry.flush(now);
+        }
+    }
+
+    // Adds an entry to the flush list
+    private static <T extends Entry> T register(T entry) {
+        entries.add(entry);
+        return entry;
+    }
+
+}
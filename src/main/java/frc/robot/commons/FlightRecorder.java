@@ -0,0 +1,189 @@
+package frc.robot.commons;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import static frc.robot.Constants.Logging.*;
+
+// In-memory flight recorder; every loop's signals go into a preallocated ring and nothing touches the disk
+// until a trigger fires, at which point the last FLIGHT_RECORDER_WINDOW_SECONDS are dumped by the BreadLogWriter thread
+//
+// Usage: register channels once at construction, call set() from periodic and commitFrame() once per loop
+public class FlightRecorder {
+
+    private static final int MAX_CHANNELS = 64;
+    private static final int FRAMES = (int) Math.ceil(FLIGHT_RECORDER_WINDOW_SECONDS / 0.02);
+
+    // Channel registry
+    private static final String[] names = new String[MAX_CHANNELS];
+    private static int channelCount = 0;
+
+    // Frame being built this loop and the ring of committed frames; column 0 of a frame is its timestamp
+    private static final double[] current = new double[MAX_CHANNELS];
+    private static final double[][] frames = new double[FRAMES][MAX_CHANNELS + 1];
+    private static long frameCount = 0;
+
+    // Dump state; the snapshot is filled by the robot loop and written by the writer thread
+    private static final double[][] snapshot = new double[FRAMES][MAX_CHANNELS + 1];
+    private static int snapshotFrames = 0;
+    private static int snapshotChannels = 0;
+    private static volatile String pendingTrigger = null;
+    private static volatile String snapshotTrigger = null;
+    private static double lastDumpTimestamp = Double.NEGATIVE_INFINITY;
+    private static long dumpCount = 0;
+    private static int nextDumpIndex = -1;
+    private static long missedTriggers = 0;
+
+    static {
+        BreadLogWriter.register(FlightRecorder::drain);
+    }
+
+    // Private constructor so that the class cannot be instantiated
+    private FlightRecorder() {}
+
+    // Registers a named channel and returns its index; returns -1 (ignored by set) once all channels are used
+    public static synchronized int register(String name) {
+        if (channelCount >= MAX_CHANNELS) {
+            System.out.println("Flight recorder is full; not recording " + name);
+            return -1;
+        }
+        names[channelCount] = name;
+        return channelCount++;
+    }
+
+    // Sets the value of a channel for the current frame
+    public static void set(int channel, double value) {
+        if (channel >= 0) {
+            current[channel] = value;
+        }
+    }
+
+    // Overload to record a boolean channel
+    public static void set(int channel, boolean value) {
+        set(channel, value ? 1.0 : 0.0);
+    }
+
+    // Commits the current frame into the ring and services any pending trigger; call once per loop
+    public static void commitFrame(double timestamp) {
+        double[] frame = frames[(int) (frameCount % FRAMES)];
+        frame[0] = timestamp;
+        System.arraycopy(current, 0, frame, 1, channelCount);
+        frameCount++;
+
+        String reason = pendingTrigger;
+        if (reason != null) {
+            pendingTrigger = null;
+            takeSnapshot(reason, timestamp);
+        }
+    }
+
+    // Requests a dump of the recorded window; safe to call from any thread, the copy is taken at the next commitFrame()
+    public static void trigger(String reason) {
+        if (pendingTrigger == null) {
+            pendingTrigger = reason;
+        }
+    }
+
+    // Returns the number of dumps written
+    public static long getDumpCount() {
+        return dumpCount;
+    }
+
+    // Returns the number of triggers ignored because of the cooldown or because a dump was still being written
+    public static long getMissedTriggers() {
+        return missedTriggers;
+    }
+
+    // Copies the ring in chronological order into the snapshot buffer
+    private static void takeSnapshot(String reason, double timestamp) {
+        if (snapshotTrigger != null || timestamp - lastDumpTimestamp < FLIGHT_RECORDER_COOLDOWN_SECONDS || frameCount == 0) {
+            missedTriggers++;
+            return;
+        }
+        int count = (int) Math.min(frameCount, FRAMES);
+        long first = frameCount - count;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(frames[(int) ((first + i) % FRAMES)], 0, snapshot[i], 0, channelCount + 1);
+        }
+        snapshotFrames = count;
+        snapshotChannels = channelCount;
+        lastDumpTimestamp = timestamp;
+        snapshotTrigger = reason;
+        BreadLogWriter.requestDrain();
+    }
+
+    // Writes a pending snapshot to disk; only called from the writer thread
+    private static void drain() throws IOException {
+        String reason = snapshotTrigger;
+        if (reason == null) {
+            return;
+        }
+        try {
+            File directory = new File(Filesystem.getOperatingDirectory(), "flight");
+            directory.mkdirs();
+            if (nextDumpIndex < 0) {
+                nextDumpIndex = 0;
+                for (File dump : listDumps(directory)) {
+                    nextDumpIndex = Math.max(nextDumpIndex, indexOf(dump) + 1);
+                }
+            }
+            File file = new File(directory, String.format("FlightRecorder-%05d-%s.csv", nextDumpIndex++, reason));
+            try (Writer out = new BufferedWriter(new FileWriter(file), 64 * 1024)) {
+                StringBuilder line = new StringBuilder(1024);
+                line.append("timestamp");
+                for (int c = 0; c < snapshotChannels; c++) {
+                    line.append(", ").append(names[c]);
+                }
+                out.append(line.append('\n'));
+                for (int f = 0; f < snapshotFrames; f++) {
+                    line.setLength(0);
+                    double[] frame = snapshot[f];
+                    line.append(frame[0]);
+                    for (int c = 1; c <= snapshotChannels; c++) {
+                        line.append(", ").append(frame[c]);
+                    }
+                    out.append(line.append('\n'));
+                }
+            }
+            dumpCount++;
+            deleteOldDumps(directory);
+        } finally {
+            snapshotTrigger = null;
+        }
+    }
+
+    // Keeps only the newest FLIGHT_RECORDER_MAX_DUMPS dumps on disk
+    private static void deleteOldDumps(File directory) {
+        File[] dumps = listDumps(directory);
+        for (int i = 0; i < dumps.length - FLIGHT_RECORDER_MAX_DUMPS; i++) {
+            dumps[i].delete();
+        }
+    }
+
+    // Returns every dump in the directory sorted from oldest to newest
+    private static File[] listDumps(File directory) {
+        File[] dumps = directory.listFiles((dir, name) -> name.startsWith("FlightRecorder-") && name.endsWith(".csv"));
+        if (dumps == null) {
+            return new File[0];
+        }
+        Arrays.sort(dumps, Comparator.comparingInt(FlightRecorder::indexOf));
+        return dumps;
+    }
+
+    // Returns the index encoded in a dump file name
+    private static int indexOf(File dump) {
+        String[] parts = dump.getName().split("-");
+        try {
+            return parts.length > 1 ? Integer.parseInt(parts[1]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package frc.robot.commons;
+
+// Fixed-bucket latency histogram; recording never allocates, so it is safe to use in the main loop
+// Buckets are 20us wide up to 2ms, 200us wide up to 20ms and 2ms wide up to 100ms, with one overflow bucket above that
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MICROS = createBucketBounds();
+
+    private final long[] counts = new long[BUCKET_UPPER_BOUNDS_MICROS.length + 1];
+    private long count = 0;
+    private long sumMicros = 0;
+    private long maxMicros = 0;
+
+    // Records a single sample
+    public void record(long micros) {
+        if (micros < 0) {
+            micros = 0;
+        }
+        counts[bucketOf(micros)]++;
+        count++;
+        sumMicros += micros;
+        if (micros > maxMicros) {
+            maxMicros = micros;
+        }
+    }
+
+    // Returns the upper bound of the bucket holding the given percentile [0, 100], capped at the largest sample
+    public long getPercentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * Math.max(0.0, Math.min(100.0, percentile)) / 100.0);
+        rank = Math.max(rank, 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BUCKET_UPPER_BOUNDS_MICROS.length ? Math.min(BUCKET_UPPER_BOUNDS_MICROS[i], maxMicros) : maxMicros;
+            }
+        }
+        return maxMicros;
+    }
+
+    // Returns the largest sample
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    // Returns the mean of every sample
+    public double getMeanMicros() {
+        return count == 0 ? 0.0 : (double) sumMicros / count;
+    }
+
+    // Returns the number of samples
+    public long getCount() {
+        return count;
+    }
+
+    // Clears every sample
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        sumMicros = 0;
+        maxMicros = 0;
+    }
+
+    // Returns the index of the bucket a sample falls in
+    private static int bucketOf(long micros) {
+        int low = 0;
+        int high = BUCKET_UPPER_BOUNDS_MICROS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BUCKET_UPPER_BOUNDS_MICROS[mid] < micros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Builds the (inclusive) upper bound of every bucket
+    private static long[] createBucketBounds() {
+        long[] bounds = new long[100 + 90 + 40];
+        int i = 0;
+        for (long bound = 20; bound <= 2000; bound += 20) bounds[i++] = bound;
+        for (long bound = 2200; bound <= 20000; bound += 200) bounds[i++] = bound;
+        for (long bound = 22000; bound <= 100000; bound += 2000) bounds[i++] = bound;
+        return bounds;
+    }
+
+}
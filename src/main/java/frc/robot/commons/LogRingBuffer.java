@@ -0,0 +1,153 @@
+package frc.robot.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded, lock-free ring of log records with exactly one producer (the robot loop) and one consumer (the writer thread)
+public class LogRingBuffer {
+
+    private final int mask;
+    private final int maxColumns;
+
+    // Preallocated record slots; a slot holds either a numeric row or a text row
+    private final double[][] numericRows;
+    private final String[][] textRows;
+    private final int[] lengths;
+    private final boolean[] integerRows;
+
+    // Sequence counters; head is only advanced by the consumer and tail only by the producer
+    private final AtomicLong head = new AtomicLong(0);
+    private final AtomicLong tail = new AtomicLong(0);
+
+    // Statistics
+    private final AtomicLong dropped = new AtomicLong(0);
+    private volatile long highWaterMark = 0;
+
+    // Constructs a new ring buffer; the capacity is rounded up to the next power of two
+    public LogRingBuffer(int capacity, int maxColumns) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.maxColumns = maxColumns;
+        this.numericRows = new double[size][maxColumns];
+        this.textRows = new String[size][];
+        this.lengths = new int[size];
+        this.integerRows = new boolean[size];
+    }
+
+    // Offers a numeric record; returns false (and counts a drop) if the buffer is full
+    public boolean offer(double[] content, boolean isInteger) {
+        if (content.length > maxColumns) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        System.arraycopy(content, 0, numericRows[slot], 0, content.length);
+        lengths[slot] = content.length;
+        integerRows[slot] = isInteger;
+        textRows[slot] = null;
+        publish(t);
+        return true;
+    }
+
+    // Overload to offer an integer record
+    public boolean offer(int[] content) {
+        if (content.length > maxColumns) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        double[] row = numericRows[slot];
+        for (int i = 0; i < content.length; i++) {
+            row[i] = content[i];
+        }
+        lengths[slot] = content.length;
+        integerRows[slot] = true;
+        textRows[slot] = null;
+        publish(t);
+        return true;
+    }
+
+    // Overload to offer a text record; the array is retained so callers must not modify it afterwards
+    public boolean offer(String[] content) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        textRows[slot] = content;
+        lengths[slot] = content.length;
+        publish(t);
+        return true;
+    }
+
+    // Formats every queued record as a CSV line into the builder; returns the number of records drained
+    public int drainTo(StringBuilder out) {
+        long h = head.get();
+        long t = tail.get();
+        int count = 0;
+        while (h < t) {
+            int slot = (int) (h & mask);
+            int length = lengths[slot];
+            if (length > 0) {
+                String[] text = textRows[slot];
+                double[] row = numericRows[slot];
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) out.append(", ");
+                    if (text != null) {
+                        out.append(text[i]);
+                    } else if (integerRows[slot]) {
+                        out.append((long) row[i]);
+                    } else {
+                        out.append(row[i]);
+                    }
+                }
+                out.append('\n');
+            }
+            textRows[slot] = null;
+            h++;
+            count++;
+        }
+        head.lazySet(h);
+        return count;
+    }
+
+    // Returns the number of records waiting to be written
+    public long getDepth() {
+        return tail.get() - head.get();
+    }
+
+    // Returns the largest depth seen since construction
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    // Returns the number of records rejected because the buffer was full
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // Returns the number of slots in the buffer
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    // Makes the slot at sequence t visible to the consumer
+    private void publish(long t) {
+        tail.lazySet(t + 1);
+        long depth = t + 1 - head.get();
+        if (depth > highWaterMark) {
+            highWaterMark = depth;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package frc.robot.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Describes the fixed layout of a binary log record, e.g. "timestamp:long, velocity:double, setpoint:double"
+public class LogSchema {
+
+    // Supported field types and their encoded sizes in bytes
+    public enum FieldType {
+        LONG(8), DOUBLE(8), INT(4), FLOAT(4), BOOLEAN(1);
+
+        public final int size;
+
+        FieldType(int size) {
+            this.size = size;
+        }
+    }
+
+    private final String definition;
+    private final String[] names;
+    private final FieldType[] types;
+    private final int recordSize;
+
+    // Parses a schema definition of comma separated "name:type" pairs
+    public LogSchema(String definition) {
+        List<String> names = new ArrayList<>();
+        List<FieldType> types = new ArrayList<>();
+        int size = 0;
+        for (String field : definition.split(",")) {
+            String[] parts = field.trim().split(":");
+            if (parts.length != 2 || parts[0].trim().isEmpty()) {
+                throw new IllegalArgumentException("Malformed log schema field \"" + field.trim() + "\" in \"" + definition + "\"");
+            }
+            FieldType type;
+            try {
+                type = FieldType.valueOf(parts[1].trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown log schema type \"" + parts[1].trim() + "\" in \"" + definition + "\"");
+            }
+            names.add(parts[0].trim());
+            types.add(type);
+            size += type.size;
+        }
+        this.names = names.toArray(new String[0]);
+        this.types = types.toArray(new FieldType[0]);
+        this.recordSize = size;
+        this.definition = toDefinition(this.names, this.types);
+    }
+
+    // Returns the normalized schema definition
+    public String getDefinition() {
+        return definition;
+    }
+
+    // Returns the number of fields in a record
+    public int getFieldCount() {
+        return names.length;
+    }
+
+    // Returns the name of a field
+    public String getName(int field) {
+        return names[field];
+    }
+
+    // Returns the type of a field
+    public FieldType getType(int field) {
+        return types[field];
+    }
+
+    // Returns the size of one encoded record in bytes
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    // Builds the normalized definition string
+    private static String toDefinition(String[] names, FieldType[] types) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(names[i]).append(':').append(types[i].name().toLowerCase());
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,188 @@
+package frc.robot.commons;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Size-capped log storage built from memory mapped segments named "<base>-<index><extension>"
+// A full segment is truncated to its written length and a new one is mapped; the oldest segments are deleted to stay under the disk budget
+// Not thread safe; only the BreadLogWriter thread should write to a store
+public class LogSegmentStore {
+
+    private final File directory;
+    private final String baseName;
+    private final String extension;
+    private final int segmentSize;
+    private final long totalBudget;
+    private final ByteBuffer header;
+    private final int recordSize;
+    private final Pattern segmentPattern;
+
+    // Current segment
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int index = -1;
+
+    // Statistics
+    private long segmentsDeleted = 0;
+
+    // Constructs a new store; the header (may be null) is written at the start of every segment so each one can be read on its own
+    public LogSegmentStore(File directory, String baseName, String extension, int segmentSize, long totalBudget, ByteBuffer header, int recordSize) {
+        int headerSize = header == null ? 0 : header.remaining();
+        if (segmentSize <= headerSize + recordSize) {
+            throw new IllegalArgumentException("Log segment size " + segmentSize + " is too small for " + baseName);
+        }
+        if (totalBudget < segmentSize) {
+            throw new IllegalArgumentException("Log budget " + totalBudget + " is smaller than one segment for " + baseName);
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.extension = extension;
+        this.segmentSize = segmentSize;
+        this.totalBudget = totalBudget;
+        this.header = header == null ? null : header.asReadOnlyBuffer();
+        this.recordSize = Math.max(1, recordSize);
+        this.segmentPattern = Pattern.compile(Pattern.quote(baseName) + "-(\\d+)" + Pattern.quote(extension));
+    }
+
+    // Copies the bytes into the current segment, rolling to a new segment first if they do not fit
+    public void write(ByteBuffer src) throws IOException {
+        if (mapped == null) {
+            open();
+        }
+        while (src.hasRemaining()) {
+            if (mapped.remaining() < Math.min(src.remaining(), segmentSize - headerSize())) {
+                roll();
+            }
+            int length = Math.min(src.remaining(), mapped.remaining());
+            int limit = src.limit();
+            src.limit(src.position() + length);
+            mapped.put(src);
+            src.limit(limit);
+        }
+    }
+
+    // Flushes the current segment to disk and closes it
+    public void close() throws IOException {
+        if (mapped != null) {
+            finish();
+        }
+    }
+
+    // Returns the index of the segment currently being written
+    public int getSegmentIndex() {
+        return index;
+    }
+
+    // Returns the number of segments deleted to stay under budget
+    public long getSegmentsDeleted() {
+        return segmentsDeleted;
+    }
+
+    // Recovers segments left open by a previous run and maps the first segment of this run
+    private void open() throws IOException {
+        directory.mkdirs();
+        File[] existing = listSegments();
+        for (File segment : existing) {
+            recover(segment);
+        }
+        index = existing.length == 0 ? 0 : indexOf(existing[existing.length - 1]) + 1;
+        map();
+        enforceBudget();
+    }
+
+    // Finishes the current segment and maps the next one
+    private void roll() throws IOException {
+        finish();
+        index++;
+        map();
+        enforceBudget();
+    }
+
+    // Maps a fresh segment and writes the header
+    private void map() throws IOException {
+        File file = new File(directory, String.format("%s-%05d%s", baseName, index, extension));
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        if (header != null) {
+            mapped.put(header.duplicate());
+        }
+    }
+
+    // Forces the mapped pages to disk and truncates the file to the bytes actually written
+    private void finish() throws IOException {
+        int written = mapped.position();
+        mapped.force();
+        mapped = null;
+        channel.truncate(written);
+        channel.close();
+        channel = null;
+    }
+
+    // Deletes the oldest segments until the total size is within budget; never deletes the current segment
+    private void enforceBudget() {
+        File[] segments = listSegments();
+        long total = 0;
+        for (File segment : segments) {
+            total += indexOf(segment) == index ? segmentSize : segment.length();
+        }
+        for (int i = 0; i < segments.length && total > totalBudget; i++) {
+            if (indexOf(segments[i]) == index) {
+                continue;
+            }
+            long length = segments[i].length();
+            if (segments[i].delete()) {
+                total -= length;
+                segmentsDeleted++;
+            }
+        }
+    }
+
+    // Trims the zero padding left at the end of a segment that was never finished (e.g. the robot lost power)
+    private void recover(File segment) throws IOException {
+        if (segment.length() != segmentSize) {
+            return;
+        }
+        try (FileChannel file = FileChannel.open(segment.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer data = file.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+            int end = segmentSize;
+            while (end > 0 && data.get(end - 1) == 0) {
+                end--;
+            }
+            int start = headerSize();
+            if (end > start) {
+                end = start + ((end - start + recordSize - 1) / recordSize) * recordSize;
+            }
+            file.truncate(Math.max(end, start));
+        }
+    }
+
+    // Returns every segment of this store sorted from oldest to newest
+    private File[] listSegments() {
+        File[] segments = directory.listFiles((dir, name) -> segmentPattern.matcher(name).matches());
+        if (segments == null) {
+            return new File[0];
+        }
+        Arrays.sort(segments, Comparator.comparingInt(this::indexOf));
+        return segments;
+    }
+
+    // Returns the index encoded in a segment file name
+    private int indexOf(File segment) {
+        Matcher matcher = segmentPattern.matcher(segment.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    // Returns the size of the per-segment header
+    private int headerSize() {
+        return header == null ? 0 : header.remaining();
+    }
+
+}
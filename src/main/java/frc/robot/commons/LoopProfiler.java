@@ -0,0 +1,187 @@
+package frc.robot.commons;
+
+import static frc.robot.Constants.Logging.*;
+
+// Times named sections of the robot loop (subsystem periodics, command executes, robot/teleop periodic) into latency histograms
+// start()/stop() never allocate; publish() posts p50/p99/max of every section at a low rate and reset() clears them between matches
+// When the AllocationProfiler is enabled the bytes allocated by each section are measured as well
+//
+// Usage: private final int profilerSection = LoopProfiler.register("Shooter");
+//        LoopProfiler.start(profilerSection); ... LoopProfiler.stop(profilerSection);
+// Commands are timed by scheduling them through ProfiledCommand.of()
+public class LoopProfiler {
+
+    static final int MAX_SECTIONS = 32;
+
+    // Section registry
+    private static final String[] names = new String[MAX_SECTIONS];
+    private static final LatencyHistogram[] histograms = new LatencyHistogram[MAX_SECTIONS];
+    private static final long[] startNanos = new long[MAX_SECTIONS];
+    private static final long[] stopNanos = new long[MAX_SECTIONS];
+    private static final boolean[] started = new boolean[MAX_SECTIONS];
+    private static final long[] lastMicros = new long[MAX_SECTIONS];
+    private static final BreadTelemetry.NumberEntry[][] telemetry = new BreadTelemetry.NumberEntry[MAX_SECTIONS][];
+
+    // Allocation measurements (only filled in when the AllocationProfiler is enabled)
+    private static final long[] startBytes = new long[MAX_SECTIONS];
+    private static final long[] lastBytes = new long[MAX_SECTIONS];
+    private static final long[] maxBytes = new long[MAX_SECTIONS];
+    private static final BreadTelemetry.NumberEntry[][] allocationTelemetry = new BreadTelemetry.NumberEntry[MAX_SECTIONS][];
+    private static int sectionCount = 0;
+
+    // Publishing state
+    private static double lastPublishTimestamp = Double.NEGATIVE_INFINITY;
+
+    // Private constructor so that the class cannot be instantiated
+    private LoopProfiler() {}
+
+    // Registers a named section and returns its index (the existing one if the name is already registered, e.g. a command
+    // that is wrapped again each time it is scheduled); returns -1 (ignored by start and stop) once all sections are used
+    public static synchronized int register(String name) {
+        for (int section = 0; section < sectionCount; section++) {
+            if (names[section].equals(name)) {
+                return section;
+            }
+        }
+        if (sectionCount >= MAX_SECTIONS) {
+            System.out.println("Loop profiler is full; not timing " + name);
+            return -1;
+        }
+        names[sectionCount] = name;
+        histograms[sectionCount] = new LatencyHistogram();
+        telemetry[sectionCount] = new BreadTelemetry.NumberEntry[] {
+            BreadTelemetry.number("Loop/" + name + " p50 (ms)"),
+            BreadTelemetry.number("Loop/" + name + " p99 (ms)"),
+            BreadTelemetry.number("Loop/" + name + " Max (ms)")
+        };
+        if (AllocationProfiler.isEnabled()) {
+            allocationTelemetry[sectionCount] = new BreadTelemetry.NumberEntry[] {
+                BreadTelemetry.number("Alloc/" + name + " (bytes)", 1.0, 5.0),
+                BreadTelemetry.number("Alloc/" + name + " Max (bytes)", 1.0, 5.0)
+            };
+        }
+        return sectionCount++;
+    }
+
+    // Marks the start of a section
+    public static void start(int section) {
+        if (section >= 0) {
+            if (AllocationProfiler.isEnabled()) {
+                startBytes[section] = AllocationProfiler.getAllocatedBytes();
+            }
+            startNanos[section] = System.nanoTime();
+            started[section] = true;
+        }
+    }
+
+    // Marks the end of a section and records its duration
+    public static void stop(int section) {
+        if (section >= 0) {
+            long now = System.nanoTime();
+            long micros = (now - startNanos[section]) / 1000;
+            stopNanos[section] = now;
+            lastMicros[section] = micros;
+            histograms[section].record(micros);
+            if (AllocationProfiler.isEnabled()) {
+                lastBytes[section] = AllocationProfiler.getAllocatedBytes() - startBytes[section];
+                maxBytes[section] = Math.max(maxBytes[section], lastBytes[section]);
+            }
+        }
+    }
+
+    // Returns the duration of the most recent run of a section in microseconds
+    public static long getLastMicros(int section) {
+        return section >= 0 ? lastMicros[section] : 0;
+    }
+
+    // Returns the bytes allocated by the most recent run of a section (0 unless the AllocationProfiler is enabled)
+    public static long getLastBytes(int section) {
+        return section >= 0 ? lastBytes[section] : 0;
+    }
+
+    // Describes the allocations of the most recent run of every section that allocated (allocates; for error messages)
+    public static String describeAllocations() {
+        StringBuilder description = new StringBuilder("by section:");
+        for (int i = 0; i < sectionCount; i++) {
+            if (lastBytes[i] > 0) {
+                description.append(' ').append(names[i]).append('=').append(lastBytes[i]);
+            }
+        }
+        return description.toString();
+    }
+
+    // Returns the innermost section that was running at the given instant of a loop that started at loopStartNanos,
+    // or -1 if the instant fell outside every section (both times come from System.nanoTime())
+    public static int getSectionRunningAt(long loopStartNanos, long instantNanos) {
+        int running = -1;
+        for (int i = 0; i < sectionCount; i++) {
+            long start = startNanos[i];
+            long stop = stopNanos[i];
+            boolean startedThisLoop = started[i] && start - loopStartNanos >= 0 && instantNanos - start >= 0;
+            boolean stillRunning = stop - start < 0 || stop - instantNanos >= 0;
+            if (startedThisLoop && stillRunning && (running < 0 || start - startNanos[running] > 0)) {
+                running = i;
+            }
+        }
+        return running;
+    }
+
+    // Returns the name of a section
+    public static String getName(int section) {
+        return names[section];
+    }
+
+    // Returns the number of registered sections
+    public static int getSectionCount() {
+        return sectionCount;
+    }
+
+    // Returns the histogram of a section
+    public static LatencyHistogram getHistogram(int section) {
+        return histograms[section];
+    }
+
+    // Publishes a summary of every section if LOOP_PROFILER_PUBLISH_PERIOD_SECONDS have passed; call once per loop
+    public static void publish(double timestamp) {
+        if (timestamp - lastPublishTimestamp < LOOP_PROFILER_PUBLISH_PERIOD_SECONDS) {
+            return;
+        }
+        lastPublishTimestamp = timestamp;
+        for (int i = 0; i < sectionCount; i++) {
+            LatencyHistogram histogram = histograms[i];
+            telemetry[i][0].set(histogram.getPercentileMicros(50.0) / 1000.0);
+            telemetry[i][1].set(histogram.getPercentileMicros(99.0) / 1000.0);
+            telemetry[i][2].set(histogram.getMaxMicros() / 1000.0);
+            if (allocationTelemetry[i] != null) {
+                allocationTelemetry[i][0].set(lastBytes[i]);
+                allocationTelemetry[i][1].set(maxBytes[i]);
+            }
+        }
+    }
+
+    // Prints a summary table of every section to the console (allocates; call while disabled)
+    public static void printSummary() {
+        StringBuilder summary = new StringBuilder("Loop timing (ms): section, samples, p50, p99, max, mean\n");
+        for (int i = 0; i < sectionCount; i++) {
+            LatencyHistogram histogram = histograms[i];
+            summary.append(String.format("  %-28s %8d %8.3f %8.3f %8.3f %8.3f\n",
+                names[i],
+                histogram.getCount(),
+                histogram.getPercentileMicros(50.0) / 1000.0,
+                histogram.getPercentileMicros(99.0) / 1000.0,
+                histogram.getMaxMicros() / 1000.0,
+                histogram.getMeanMicros() / 1000.0
+            ));
+        }
+        System.out.print(summary);
+    }
+
+    // Clears every histogram; called at the start of each match
+    public static void reset() {
+        for (int i = 0; i < sectionCount; i++) {
+            histograms[i].reset();
+            maxBytes[i] = 0;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package frc.robot.commons;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static frc.robot.Constants.Logging.*;
+
+// Detects robot loops that run longer than LOOP_BUDGET_SECONDS and attributes each overrun to the LoopProfiler section
+// that was running when the budget ran out (the scheduler, a subsystem periodic, teleop controls, telemetry, ...)
+// Every overrun is written to the "LoopOverruns" log together with context (robot mode, subsystem states) and triggers the flight recorder
+//
+// Usage: call beginLoop() and endLoop() around the whole loop (Robot.loopFunc); add context once with addContext()
+public class LoopWatchdog {
+
+    private static final int MAX_PHASES = LoopProfiler.MAX_SECTIONS + 1;
+    private static final int EVENT_HISTORY = 256;
+    private static final String OTHER_PHASE = "Other";
+
+    // Loop state
+    private static long loopStartNanos = 0;
+    private static boolean loopRunning = false;
+
+    // Rolling history of overruns (timestamp and phase) used for the per-phase counts
+    private static final double[] eventTimestamps = new double[EVENT_HISTORY];
+    private static final int[] eventPhases = new int[EVENT_HISTORY];
+    private static long eventCount = 0;
+    private static final long[] totalOverruns = new long[MAX_PHASES];
+
+    // Context columns written with every overrun event
+    private static final List<String> contextNames = new ArrayList<>();
+    private static final List<Supplier<String>> contextSuppliers = new ArrayList<>();
+
+    // Logging and telemetry
+    private static BreadLogger log;
+    private static boolean headerWritten = false;
+    private static final BreadTelemetry.NumberEntry[] rollingTelemetry = new BreadTelemetry.NumberEntry[MAX_PHASES];
+    private static final BreadTelemetry.NumberEntry totalTelemetry = BreadTelemetry.number("Overruns/Total", 0.5, 2.0);
+    private static double lastPublishTimestamp = Double.NEGATIVE_INFINITY;
+
+    // Private constructor so that the class cannot be instantiated
+    private LoopWatchdog() {}
+
+    // Adds a named value (e.g. the shooter state) that is written alongside every overrun; call before the first loop
+    public static synchronized void addContext(String name, Supplier<String> value) {
+        contextNames.add(name);
+        contextSuppliers.add(value);
+    }
+
+    // Marks the start of a loop
+    public static void beginLoop() {
+        loopStartNanos = System.nanoTime();
+        loopRunning = true;
+    }
+
+    // Marks the end of a loop and records an overrun if it took longer than the budget
+    public static void endLoop() {
+        if (!loopRunning) {
+            return;
+        }
+        loopRunning = false;
+        long now = System.nanoTime();
+        long budgetNanos = (long) (LOOP_BUDGET_SECONDS * 1.0E9);
+        if (now - loopStartNanos <= budgetNanos) {
+            return;
+        }
+        int section = LoopProfiler.getSectionRunningAt(loopStartNanos, loopStartNanos + budgetNanos);
+        recordOverrun(section, (now - loopStartNanos) / 1.0E6);
+    }
+
+    // Returns the number of overruns attributed to a LoopProfiler section (-1 for time outside every section) since boot
+    public static long getTotalOverruns(int section) {
+        return totalOverruns[phaseOf(section)];
+    }
+
+    // Returns the number of overruns attributed to a section in the last LOOP_OVERRUN_WINDOW_SECONDS
+    public static int getRollingOverruns(int section) {
+        return countRecent(phaseOf(section), BreadUtil.getFPGATimeSeconds());
+    }
+
+    // Publishes the rolling per-phase counts if LOOP_PROFILER_PUBLISH_PERIOD_SECONDS have passed; call once per loop
+    public static void publish(double timestamp) {
+        if (timestamp - lastPublishTimestamp < LOOP_PROFILER_PUBLISH_PERIOD_SECONDS) {
+            return;
+        }
+        lastPublishTimestamp = timestamp;
+        long total = 0;
+        for (int phase = 0; phase < MAX_PHASES; phase++) {
+            total += totalOverruns[phase];
+            if (rollingTelemetry[phase] != null) {
+                rollingTelemetry[phase].set(countRecent(phase, timestamp));
+            }
+        }
+        totalTelemetry.set(total);
+    }
+
+    // Stores, logs and publishes a single overrun
+    private static void recordOverrun(int section, double loopMillis) {
+        int phase = phaseOf(section);
+        String phaseName = section < 0 ? OTHER_PHASE : LoopProfiler.getName(section);
+        double timestamp = BreadUtil.getFPGATimeSeconds();
+
+        int slot = (int) (eventCount % EVENT_HISTORY);
+        eventTimestamps[slot] = timestamp;
+        eventPhases[slot] = phase;
+        eventCount++;
+        totalOverruns[phase]++;
+        if (rollingTelemetry[phase] == null) {
+            rollingTelemetry[phase] = BreadTelemetry.number("Overruns/" + phaseName, 0.5, 2.0);
+        }
+
+        FlightRecorder.trigger("LoopOverrun");
+        writeEvent(timestamp, loopMillis, phaseName, section < 0 ? 0.0 : LoopProfiler.getLastMicros(section) / 1000.0);
+    }
+
+    // Appends an overrun event to the log; only runs when a loop overruns, so allocating here is fine
+    private static void writeEvent(double timestamp, double loopMillis, String phaseName, double phaseMillis) {
+        try {
+            if (log == null) {
+                log = new BreadLogger("LoopOverruns", true);
+            }
+            int columns = 4 + contextNames.size();
+            if (!headerWritten) {
+                String[] header = new String[columns];
+                header[0] = "timestamp";
+                header[1] = "loop_ms";
+                header[2] = "phase";
+                header[3] = "phase_ms";
+                for (int i = 0; i < contextNames.size(); i++) {
+                    header[4 + i] = contextNames.get(i);
+                }
+                log.write(header);
+                headerWritten = true;
+            }
+            String[] row = new String[columns];
+            row[0] = String.valueOf(timestamp);
+            row[1] = String.valueOf(loopMillis);
+            row[2] = phaseName;
+            row[3] = String.valueOf(phaseMillis);
+            for (int i = 0; i < contextSuppliers.size(); i++) {
+                row[4 + i] = String.valueOf(contextSuppliers.get(i).get());
+            }
+            log.write(row);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Counts the overruns of a phase in the last LOOP_OVERRUN_WINDOW_SECONDS
+    private static int countRecent(int phase, double timestamp) {
+        int count = 0;
+        long first = Math.max(0, eventCount - EVENT_HISTORY);
+        for (long i = first; i < eventCount; i++) {
+            int slot = (int) (i % EVENT_HISTORY);
+            if (eventPhases[slot] == phase && timestamp - eventTimestamps[slot] <= LOOP_OVERRUN_WINDOW_SECONDS) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Maps a LoopProfiler section to a phase slot; the last slot collects time outside every section
+    private static int phaseOf(int section) {
+        return section < 0 || section >= MAX_PHASES - 1 ? MAX_PHASES - 1 : section;
+    }
+
+}
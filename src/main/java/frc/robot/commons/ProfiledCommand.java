@@ -0,0 +1,66 @@
+package frc.robot.commons;
+
+import java.util.Set;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+
+// Times a command's execute() as a LoopProfiler section named after the command; everything else is passed straight through
+// Commands are wrapped where they are handed to the scheduler (default commands, button bindings, autonomous), so the commands
+// themselves carry no profiling code; a command group is timed as a whole, including the commands it runs
+public class ProfiledCommand implements Command {
+
+    private final Command command;
+    private final int profilerSection;
+
+    private ProfiledCommand(Command command) {
+        this.command = command;
+        this.profilerSection = LoopProfiler.register(command.getName());
+    }
+
+    // Returns the command wrapped for profiling (a command that is already wrapped, or null, is returned as is)
+    public static Command of(Command command) {
+        if (command == null || command instanceof ProfiledCommand) {
+            return command;
+        }
+        return new ProfiledCommand(command);
+    }
+
+    @Override
+    public void initialize() {
+        command.initialize();
+    }
+
+    @Override
+    public void execute() {
+        LoopProfiler.start(profilerSection);
+        command.execute();
+        LoopProfiler.stop(profilerSection);
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        command.end(interrupted);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return command.isFinished();
+    }
+
+    @Override
+    public Set<Subsystem> getRequirements() {
+        return command.getRequirements();
+    }
+
+    @Override
+    public boolean runsWhenDisabled() {
+        return command.runsWhenDisabled();
+    }
+
+    @Override
+    public String getName() {
+        return command.getName();
+    }
+
+}
@@ -0,0 +1,64 @@
+package frc.robot.drivers;
+
+import frc.robot.commons.BreadUtil;
+import static frc.robot.Constants.Drivers.*;
+
+// Write-through cache shared by the cached motor controller wrappers: remembers the last demand sent to a controller and
+// skips a new one when its mode and demand type are the same and its demand and feedforward are within tolerance, so the control frame is
+// only rewritten when something changed; the last demand is still re-sent every MOTOR_KEEP_ALIVE_SECONDS so a controller
+// that reset (e.g. after a brownout) or missed a frame converges back to the commanded state
+//
+// The demand tolerance is chosen per control mode by the wrapper: closed loop setpoints may be deadbanded, but open loop
+// outputs (percent output, duty cycle, voltage, neutral) are only skipped on an exact match so e.g. a stop is never delayed
+//
+// Not thread safe; each controller should only be commanded from the robot loop
+public abstract class CachedMotorController {
+
+    private static long sentWrites = 0;
+    private static long skippedWrites = 0;
+
+    private final double feedForwardTolerance;
+    private Object lastMode = null;
+    private Object lastDemandType = null;
+    private double lastDemand = 0.0;
+    private double lastFeedForward = 0.0;
+    private double lastSentTimestamp = 0.0;
+
+    protected CachedMotorController(double feedForwardTolerance) {
+        this.feedForwardTolerance = feedForwardTolerance;
+    }
+
+    // Returns whether a demand has to be sent, and if so records it as the last one sent
+    // The mode and demand type (e.g. what the feedforward means) are compared by identity, so enum constants are expected
+    protected boolean shouldSend(Object mode, Object demandType, double demand, double demandTolerance, double feedForward) {
+        double now = BreadUtil.getFPGATimeSeconds();
+        if (
+            mode == lastMode &&
+            demandType == lastDemandType &&
+            Math.abs(demand - lastDemand) <= demandTolerance &&
+            Math.abs(feedForward - lastFeedForward) <= feedForwardTolerance &&
+            now - lastSentTimestamp < MOTOR_KEEP_ALIVE_SECONDS
+        ) {
+            skippedWrites++;
+            return false;
+        }
+        lastMode = mode;
+        lastDemandType = demandType;
+        lastDemand = demand;
+        lastFeedForward = feedForward;
+        lastSentTimestamp = now;
+        sentWrites++;
+        return true;
+    }
+
+    // Returns the number of demands sent to any cached controller
+    public static long getSentWrites() {
+        return sentWrites;
+    }
+
+    // Returns the number of demands skipped by any cached controller because they were already in effect
+    public static long getSkippedWrites() {
+        return skippedWrites;
+    }
+
+}
@@ -0,0 +1,48 @@
+package frc.robot.drivers;
+
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.SparkMaxPIDController;
+
+// Write-through cache around a SPARK MAX's duty cycle, voltage and closed loop demands (see CachedMotorController)
+// The closed loop tolerance is in the units of the reference (e.g. the position conversion factor's units for position
+// control); duty cycle and voltage demands are only skipped when they match exactly
+public class CachedSparkMax extends CachedMotorController {
+
+    private final CANSparkMax motor;
+    private final SparkMaxPIDController pid;
+    private final double closedLoopTolerance;
+
+    public CachedSparkMax(CANSparkMax motor, double closedLoopTolerance) {
+        super(0.0);
+        this.motor = motor;
+        this.pid = motor.getPIDController();
+        this.closedLoopTolerance = closedLoopTolerance;
+    }
+
+    // Sends a duty cycle demand unless it is already in effect
+    public void set(double percent) {
+        if (shouldSend(CANSparkMax.ControlType.kDutyCycle, null, percent, 0.0, 0.0)) {
+            motor.set(percent);
+        }
+    }
+
+    // Sends a voltage demand unless it is already in effect
+    public void setVoltage(double volts) {
+        if (shouldSend(CANSparkMax.ControlType.kVoltage, null, volts, 0.0, 0.0)) {
+            motor.setVoltage(volts);
+        }
+    }
+
+    // Sends a closed loop reference unless it is already in effect
+    public void setReference(double value, CANSparkMax.ControlType controlType) {
+        double tolerance = controlType == CANSparkMax.ControlType.kDutyCycle || controlType == CANSparkMax.ControlType.kVoltage ? 0.0 : closedLoopTolerance;
+        if (shouldSend(controlType, null, value, tolerance, 0.0)) {
+            pid.setReference(value, controlType);
+        }
+    }
+
+    public CANSparkMax getMotor() {
+        return motor;
+    }
+
+}
@@ -0,0 +1,75 @@
+package frc.robot.drivers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+
+// Write-through cache around a TalonFX's set(...) demands (see CachedMotorController)
+// The closed loop tolerance applies to the closed loop modes (e.g. integrated sensor units per 100 ms for velocity); percent
+// output, neutral and follower demands are only skipped when they match exactly
+public class CachedTalonFX extends CachedMotorController {
+
+    private final TalonFX talon;
+    private final double closedLoopTolerance;
+    private double lastCruiseVelocity = Double.NaN;
+
+    public CachedTalonFX(TalonFX talon, double closedLoopTolerance, double feedForwardTolerance) {
+        super(feedForwardTolerance);
+        this.talon = talon;
+        this.closedLoopTolerance = closedLoopTolerance;
+    }
+
+    public CachedTalonFX(TalonFX talon, double closedLoopTolerance) {
+        this(talon, closedLoopTolerance, 0.0);
+    }
+
+    // For controllers that are only driven open loop
+    public CachedTalonFX(TalonFX talon) {
+        this(talon, 0.0, 0.0);
+    }
+
+    // Sends a demand unless it is already in effect
+    public void set(ControlMode mode, double demand) {
+        // Same as TalonFX.set(mode, demand), which sends no auxiliary demand
+        if (shouldSend(mode, DemandType.Neutral, demand, getTolerance(mode), 0.0)) {
+            talon.set(mode, demand);
+        }
+    }
+
+    // Sends a demand with an auxiliary demand (e.g. an arbitrary feedforward) unless both are already in effect
+    public void set(ControlMode mode, double demand, DemandType demandType, double feedForward) {
+        if (shouldSend(mode, demandType, demand, getTolerance(mode), feedForward)) {
+            talon.set(mode, demand, demandType, feedForward);
+        }
+    }
+
+    // Configures the motion magic cruise velocity (integrated sensor units per 100 ms) unless it is already configured
+    // Config calls block on the CAN bus, so this is only sent on a change (and retried on the next call if it failed)
+    public void configMotionCruiseVelocity(double sensorUnitsPer100ms, String message) {
+        if (sensorUnitsPer100ms == lastCruiseVelocity) {
+            return;
+        }
+        ErrorCode errorCode = talon.configMotionCruiseVelocity(sensorUnitsPer100ms);
+        TalonUtil.checkError(errorCode, message);
+        lastCruiseVelocity = errorCode == ErrorCode.OK ? sensorUnitsPer100ms : Double.NaN;
+    }
+
+    public TalonFX getTalon() {
+        return talon;
+    }
+
+    // Returns the demand tolerance for a control mode
+    private double getTolerance(ControlMode mode) {
+        switch (mode) {
+            case Position:
+            case Velocity:
+            case Current:
+            case MotionMagic:
+                return closedLoopTolerance;
+            default:
+                return 0.0;
+        }
+    }
+
+}
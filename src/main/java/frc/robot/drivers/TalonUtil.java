@@ -3,6 +3,7 @@ package frc.robot.drivers;
 import com.ctre.phoenix.ErrorCode;
 
 import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.commons.FlightRecorder;
 
 // Utilization class for the TalonFX's and TalonSRX's
 public class TalonUtil {
@@ -10,6 +11,7 @@ public class TalonUtil {
     public static void checkError(ErrorCode errorCode, String message) {
         if (errorCode != ErrorCode.OK) {
             DriverStation.reportError(message + errorCode, false);
+            FlightRecorder.trigger("TalonError");
         }
     }
     
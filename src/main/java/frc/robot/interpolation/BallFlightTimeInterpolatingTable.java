@@ -1,9 +1,5 @@
 package frc.robot.interpolation;
 
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.Map.Entry;
-import static java.util.Map.entry;
 import static frc.robot.Constants.Vision.*;
 
 public class BallFlightTimeInterpolatingTable {
@@ -13,34 +9,25 @@ public class BallFlightTimeInterpolatingTable {
     private static double scalar = 1.0; // TODO Change back
     // private static double scalar = 0.6067961165;
 
-    private static TreeMap<Double, Double> table = new TreeMap<>(
-        Map.ofEntries(
-            entry(2.106467 + CAMERA_TO_CENTER, 1.232 * scalar),
-            entry(2.425149 + CAMERA_TO_CENTER, 1.265 * scalar),
-            entry(2.644736 + CAMERA_TO_CENTER, 1.237 * scalar),
-            entry(2.930702 + CAMERA_TO_CENTER, 1.235 * scalar),
-            entry(3.234261 + CAMERA_TO_CENTER, 1.28 * scalar),
-            entry(3.535450 + CAMERA_TO_CENTER, 1.266 * scalar),
-            entry(Double.MAX_VALUE, 1.266 * scalar)
-
-        )
-    );
-
-    public static double get(double distanceToCenterOfHub) {
-        Entry<Double, Double> ceil = table.ceilingEntry(distanceToCenterOfHub);
-        Entry<Double, Double> floor = table.floorEntry(distanceToCenterOfHub);
-        if (ceil == null) return floor.getValue();
-        if (floor == null) return ceil.getValue();
-        if (ceil.getValue().equals(floor.getValue())) return ceil.getValue();
-        return lerp(
-            floor.getValue(),
-            ceil.getValue(),
-            (distanceToCenterOfHub - floor.getKey()) / (ceil.getKey() - floor.getKey())
-        );
+    // Built-in table, used unless BALL_FLIGHT_TIME_TABLE_FILE loads
+    // Keys are camera distances plus CAMERA_TO_CENTER; keys past the last row clamp to it, so no sentinel entry is needed
+    private static volatile PrimitiveInterpolatingTable table = new PrimitiveInterpolatingTable.Builder(1)
+        .interpolation(SHOT_TABLE_INTERPOLATION)
+        .add(2.106467 + CAMERA_TO_CENTER, 1.232)
+        .add(2.425149 + CAMERA_TO_CENTER, 1.265)
+        .add(2.644736 + CAMERA_TO_CENTER, 1.237)
+        .add(2.930702 + CAMERA_TO_CENTER, 1.235)
+        .add(3.234261 + CAMERA_TO_CENTER, 1.28)
+        .add(3.535450 + CAMERA_TO_CENTER, 1.266)
+        .build();
+
+    // Loads BALL_FLIGHT_TIME_TABLE_FILE from the deploy directory and reloads it whenever it changes
+    public static void load() {
+        TableWatcher.watch(BALL_FLIGHT_TIME_TABLE_FILE, 1, SHOT_TABLE_INTERPOLATION, CAMERA_TO_CENTER, loaded -> table = loaded);
     }
 
-    private static double lerp(double y1, double y2, double t) {
-        return y1 + (y2 - y1) * t;
+    public static double get(double distanceToCenterOfHub) {
+        return table.get(distanceToCenterOfHub, 0) * scalar;
     }
     
 }
@@ -0,0 +1,144 @@
+package frc.robot.interpolation;
+
+import java.util.Arrays;
+
+// Immutable two dimensional interpolating table over a rectangular grid of (row key, column key) points
+// The values are stored in one flat row-major double[]; lookups binary search each axis, bilinearly interpolate the
+// four surrounding points and clamp to the edge of the grid outside it
+//
+// Usage: BilinearInterpolatingTable table = new BilinearInterpolatingTable.Builder(-1.0, 0.0, 1.0).row(2.0, -1.1, 0.0, 1.1).row(...).build();
+//        table.get(rowKey, columnKey)
+public final class BilinearInterpolatingTable {
+
+    private final double[] rowKeys;
+    private final double[] columnKeys;
+    private final double[] values;
+
+    // Builder that collects rows in any order; build() sorts and validates them
+    public static class Builder {
+        private final double[] columnKeys;
+        private double[] rowKeys = new double[8];
+        private double[][] rows = new double[8][];
+        private int size = 0;
+
+        // Constructs a builder for a table with the given (strictly increasing, finite) column keys
+        public Builder(double... columnKeys) {
+            if (columnKeys.length == 0) {
+                throw new IllegalArgumentException("A bilinear table needs at least one column");
+            }
+            for (int i = 0; i < columnKeys.length; i++) {
+                if (!Double.isFinite(columnKeys[i]) || (i > 0 && !(columnKeys[i] > columnKeys[i - 1]))) {
+                    throw new IllegalArgumentException("Bilinear table column keys must be finite and strictly increasing");
+                }
+            }
+            this.columnKeys = columnKeys.clone();
+        }
+
+        // Adds a row; there must be one value per column key
+        public Builder row(double rowKey, double... values) {
+            if (values.length != columnKeys.length) {
+                throw new IllegalArgumentException("Expected " + columnKeys.length + " values for row " + rowKey + " but got " + values.length);
+            }
+            if (size == rowKeys.length) {
+                rowKeys = Arrays.copyOf(rowKeys, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rowKeys[size] = rowKey;
+            rows[size] = values.clone();
+            size++;
+            return this;
+        }
+
+        // Builds the table; throws if it is empty, a key or value is not finite or a row key is repeated
+        public BilinearInterpolatingTable build() {
+            if (size == 0) {
+                throw new IllegalArgumentException("A bilinear table needs at least one row");
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(rowKeys[a], rowKeys[b]));
+
+            double[] sortedRowKeys = new double[size];
+            double[] values = new double[size * columnKeys.length];
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                if (!Double.isFinite(rowKeys[row])) {
+                    throw new IllegalArgumentException("Bilinear table row keys must be finite; got " + rowKeys[row]);
+                }
+                if (i > 0 && rowKeys[row] == sortedRowKeys[i - 1]) {
+                    throw new IllegalArgumentException("Bilinear table row key " + rowKeys[row] + " is repeated");
+                }
+                sortedRowKeys[i] = rowKeys[row];
+                for (int c = 0; c < columnKeys.length; c++) {
+                    if (!Double.isFinite(rows[row][c])) {
+                        throw new IllegalArgumentException("Bilinear table values must be finite; got " + rows[row][c] + " in row " + rowKeys[row]);
+                    }
+                    values[i * columnKeys.length + c] = rows[row][c];
+                }
+            }
+            return new BilinearInterpolatingTable(sortedRowKeys, columnKeys, values);
+        }
+    }
+
+    // Tables are only created through the builder
+    private BilinearInterpolatingTable(double[] rowKeys, double[] columnKeys, double[] values) {
+        this.rowKeys = rowKeys;
+        this.columnKeys = columnKeys;
+        this.values = values;
+    }
+
+    // Returns the bilinearly interpolated value at (rowKey, columnKey)
+    public double get(double rowKey, double columnKey) {
+        int row = lowerIndex(rowKeys, rowKey);
+        int column = lowerIndex(columnKeys, columnKey);
+        double rowT = fraction(rowKeys, row, rowKey);
+        double columnT = fraction(columnKeys, column, columnKey);
+        int nextRow = Math.min(row + 1, rowKeys.length - 1);
+        int nextColumn = Math.min(column + 1, columnKeys.length - 1);
+
+        int width = columnKeys.length;
+        double low = values[row * width + column] + (values[row * width + nextColumn] - values[row * width + column]) * columnT;
+        double high = values[nextRow * width + column] + (values[nextRow * width + nextColumn] - values[nextRow * width + column]) * columnT;
+        return low + (high - low) * rowT;
+    }
+
+    // Returns the number of rows
+    public int getRowCount() {
+        return rowKeys.length;
+    }
+
+    // Returns the number of columns
+    public int getColumnCount() {
+        return columnKeys.length;
+    }
+
+    // Returns the index of the last key <= the given key, clamped to [0, keys.length - 1] (NaN is treated as below)
+    private static int lowerIndex(double[] keys, double key) {
+        if (!(key >= keys[0])) {
+            return 0;
+        }
+        int low = 0;
+        int high = keys.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Returns how far the key is from keys[index] to keys[index + 1], clamped to [0, 1] (0 at the last key)
+    private static double fraction(double[] keys, int index, double key) {
+        if (index >= keys.length - 1) {
+            return 0.0;
+        }
+        double t = (key - keys[index]) / (keys[index + 1] - keys[index]);
+        return t > 0.0 ? t : 0.0;
+    }
+
+}
@@ -1,64 +1,76 @@
 package frc.robot.interpolation;
 
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.Map.Entry;
-import static java.util.Map.entry;
 import static frc.robot.Constants.Vision.*;
 
 public class InterpolatingTable {
 
     private InterpolatingTable() {}
 
-    public static TreeMap<Double, ShotParameter> table = new TreeMap<>(
-        // Map.ofEntries(
-        //     entry(1.654, new ShotParameter(18, 1500)), // 44 inches to front of bumper from hub wall
-        //     entry(2.32, new ShotParameter(20, 1600)), // 68 inches to front of bumper from hub wall
-        //     entry(2.649, new ShotParameter(21.5, 1700)), // 80 inches
-        //     entry(3.163, new ShotParameter(21.5, 1775)), // 98 inches
-        //     entry(3.72, new ShotParameter(22.5, 1850)), // 117 inches
-        //     entry(4.264, new ShotParameter(24, 1950)), // 136 inches
-        //     entry(4.86, new ShotParameter(25.5, 2100)) // 156 inches
-        // )
-        // Map.ofEntries(
-        //     entry(1.409, new ShotParameter(17, 1450)), // 39 inches
-        //     entry(1.740, new ShotParameter(18, 1500)), // 53 inches
-        //     entry(1.976, new ShotParameter(19, 1525)), // 63 inches
-        //     entry(2.1919, new ShotParameter(20.5, 1550)), // 71 inches
-        //     entry(2.400, new ShotParameter(22, 1600)), // 80 inches
-        //     entry(2.618, new ShotParameter(23, 1650)), // 88 inches
-        //     entry(2.895, new ShotParameter(23.5, 1700)), // 99 inches
-        //     entry(3.139, new ShotParameter(24, 1750)), // 110 inches
-        //     entry(3.378, new ShotParameter(24.5, 1800)), // 121 inches
-        //     entry(3.746, new ShotParameter(25, 1875)), // 136 inches
-        //     entry(4.060, new ShotParameter(25, 1950)) // 148 inches 
-        // )
-        Map.ofEntries(
-            entry(2.106467 + CAMERA_TO_CENTER, new ShotParameter(15.5, 1550.0)), // 43.5 inches
-            entry(2.425149 + CAMERA_TO_CENTER, new ShotParameter(16.0, 1650.0)), // 55 inches
-            entry(2.644736 + CAMERA_TO_CENTER, new ShotParameter(16.5, 1700.0)), // 64 inches
-            entry(2.930702 + CAMERA_TO_CENTER, new ShotParameter(16.75, 1750.0)), // 75 inches
-            entry(3.234261 + CAMERA_TO_CENTER, new ShotParameter(17.5, 1800.0)), // 85 inches
-            entry(3.535450 + CAMERA_TO_CENTER, new ShotParameter(18.0, 1850.0)), // 95 inches
-            entry(3.961900 + CAMERA_TO_CENTER, new ShotParameter(18.5, 1950.0)), // 110 inches
-            entry(4.223835 + CAMERA_TO_CENTER, new ShotParameter(18.5, 2000.0)), // 120 inches
-            entry(4.562416 + CAMERA_TO_CENTER, new ShotParameter(19.0, 2025.0)), // 130 inches 
-            entry(4.799944 + CAMERA_TO_CENTER, new ShotParameter(19.5, 2050.0)), // 140 inches
-            entry(5.128513 + CAMERA_TO_CENTER, new ShotParameter(20.0, 2100)), // 150 inches
-            entry(5.431509 + CAMERA_TO_CENTER, new ShotParameter(20.5, 2200)) // 160 inches
-        )
-    );
+    // Column indices of the table (and of the array filled by get(distance, out))
+    public static final int HOOD_ANGLE = 0;
+    public static final int FLYWHEEL_RPM = 1;
 
-    public static ShotParameter get(double distanceToTarget) {
-        Entry<Double, ShotParameter> ceil = table.ceilingEntry(distanceToTarget);
-        Entry<Double, ShotParameter> floor = table.floorEntry(distanceToTarget);
-        if (ceil == null) return floor.getValue();
-        if (floor == null) return ceil.getValue();
-        if (ceil.getValue().equals(floor.getValue())) return ceil.getValue();
-        return floor.getValue().interpolate(
-            ceil.getValue(), 
-            (distanceToTarget - floor.getKey()) / (ceil.getKey() - floor.getKey())
-        );
+    // Built-in table, used unless SHOT_TABLE_FILE loads; keys are camera distances plus CAMERA_TO_CENTER
+    private static final PrimitiveInterpolatingTable builtInTable = new PrimitiveInterpolatingTable.Builder(2)
+        .interpolation(SHOT_TABLE_INTERPOLATION)
+        .add(2.106467 + CAMERA_TO_CENTER, 15.5, 1550.0) // 43.5 inches
+        .add(2.425149 + CAMERA_TO_CENTER, 16.0, 1650.0) // 55 inches
+        .add(2.644736 + CAMERA_TO_CENTER, 16.5, 1700.0) // 64 inches
+        .add(2.930702 + CAMERA_TO_CENTER, 16.75, 1750.0) // 75 inches
+        .add(3.234261 + CAMERA_TO_CENTER, 17.5, 1800.0) // 85 inches
+        .add(3.535450 + CAMERA_TO_CENTER, 18.0, 1850.0) // 95 inches
+        .add(3.961900 + CAMERA_TO_CENTER, 18.5, 1950.0) // 110 inches
+        .add(4.223835 + CAMERA_TO_CENTER, 18.5, 2000.0) // 120 inches
+        .add(4.562416 + CAMERA_TO_CENTER, 19.0, 2025.0) // 130 inches 
+        .add(4.799944 + CAMERA_TO_CENTER, 19.5, 2050.0) // 140 inches
+        .add(5.128513 + CAMERA_TO_CENTER, 20.0, 2100) // 150 inches
+        .add(5.431509 + CAMERA_TO_CENTER, 20.5, 2200) // 160 inches
+        .build();
+
+    // Immutable pair of the reference table and its uniform grid; replaced as a whole when the table file changes
+    private static class Compiled {
+        final PrimitiveInterpolatingTable table;
+        final UniformGridTable grid;
+        final boolean useGrid; // Whether the grid agrees with the reference table
+
+        Compiled(PrimitiveInterpolatingTable table) {
+            this.table = table;
+            this.grid = UniformGridTable.compile(table, SHOT_TABLE_GRID_STEP);
+            this.useGrid = checkGrid(table, grid);
+        }
+    }
+
+    private static volatile Compiled current = new Compiled(builtInTable);
+
+    // Loads SHOT_TABLE_FILE from the deploy directory and reloads it whenever it changes
+    public static void load() {
+        TableWatcher.watch(SHOT_TABLE_FILE, 2, SHOT_TABLE_INTERPOLATION, CAMERA_TO_CENTER, table -> current = new Compiled(table));
+    }
+
+    // Returns the current reference table
+    public static PrimitiveInterpolatingTable getTable() {
+        return current.table;
+    }
+
+    // Returns the current table resampled onto a uniform grid at load
+    public static UniformGridTable getGrid() {
+        return current.grid;
+    }
+
+    // Allocation free lookup; fills out[HOOD_ANGLE] and out[FLYWHEEL_RPM] and returns out
+    public static double[] get(double distanceToTarget, double[] out) {
+        Compiled compiled = current;
+        return compiled.useGrid ? compiled.grid.get(distanceToTarget, out) : compiled.table.get(distanceToTarget, out);
+    }
+
+    // Compares the grid against the reference table between (and past) every grid point; lookups fall back to the reference if they disagree
+    private static boolean checkGrid(PrimitiveInterpolatingTable table, UniformGridTable grid) {
+        double[] error = grid.getMaxError(table, 8);
+        if (error[HOOD_ANGLE] > SHOT_TABLE_HOOD_TOLERANCE || error[FLYWHEEL_RPM] > SHOT_TABLE_RPM_TOLERANCE) {
+            System.out.println("Shot table grid disagrees with the reference table (hood " + error[HOOD_ANGLE] + " deg, flywheel " + error[FLYWHEEL_RPM] + " RPM); using the reference table");
+            return false;
+        }
+        return true;
     }
     
 }
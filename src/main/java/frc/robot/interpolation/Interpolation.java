@@ -0,0 +1,10 @@
+package frc.robot.interpolation;
+
+// How a PrimitiveInterpolatingTable fills in values between its rows
+public enum Interpolation {
+    // Straight lines between rows; the curve has a kink at every row
+    LINEAR,
+    // Fritsch-Carlson monotone cubic Hermite spline (PCHIP); smooth through every row and never overshoots it,
+    // so a monotonic column stays monotonic between rows
+    MONOTONE_CUBIC
+}
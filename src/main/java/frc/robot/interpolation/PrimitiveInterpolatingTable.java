@@ -0,0 +1,228 @@
+package frc.robot.interpolation;
+
+import java.util.Arrays;
+
+// Immutable interpolating lookup table backed by sorted primitive keys and one double[] per value column (struct of arrays)
+// Lookups binary search the keys, interpolate every requested column and clamp to the first/last row outside the table
+// With Interpolation.MONOTONE_CUBIC the spline coefficients are computed once in build(), so a lookup is still one search and one polynomial
+//
+// Usage: PrimitiveInterpolatingTable table = new PrimitiveInterpolatingTable.Builder(2).add(2.1, 15.5, 1550.0).add(...).build();
+//        (call .interpolation(Interpolation.MONOTONE_CUBIC) on the builder for smooth curves)
+//        table.get(distance, 1) or table.get(distance, out) to fill a caller-owned double[] without allocating
+public final class PrimitiveInterpolatingTable {
+
+    private final double[] keys;
+    private final double[][] columns;
+    private final Interpolation interpolation;
+
+    // Per row cubic coefficients of each column (null when linear); between row i and i + 1 the value is
+    // columns[c][i] + dx * (slopes[c][i] + dx * (quadratics[c][i] + dx * cubics[c][i])) where dx = key - keys[i]
+    private final double[][] slopes;
+    private final double[][] quadratics;
+    private final double[][] cubics;
+
+    // Builder that collects rows in any order; build() sorts and validates them
+    public static class Builder {
+        private final int columnCount;
+        private double[] keys = new double[16];
+        private double[][] rows = new double[16][];
+        private int size = 0;
+        private Interpolation interpolation = Interpolation.LINEAR;
+
+        // Constructs a builder for a table with the given number of value columns
+        public Builder(int columnCount) {
+            if (columnCount < 1) {
+                throw new IllegalArgumentException("An interpolating table needs at least one value column");
+            }
+            this.columnCount = columnCount;
+        }
+
+        // Sets how values are filled in between rows (linear by default)
+        public Builder interpolation(Interpolation interpolation) {
+            this.interpolation = interpolation;
+            return this;
+        }
+
+        // Adds a row; the number of values must match the number of columns
+        public Builder add(double key, double... values) {
+            if (values.length != columnCount) {
+                throw new IllegalArgumentException("Expected " + columnCount + " values for key " + key + " but got " + values.length);
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            keys[size] = key;
+            rows[size] = values.clone();
+            size++;
+            return this;
+        }
+
+        // Builds the table; throws if it is empty, a key is not finite or a key is repeated
+        public PrimitiveInterpolatingTable build() {
+            if (size == 0) {
+                throw new IllegalArgumentException("An interpolating table needs at least one row");
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(keys[a], keys[b]));
+
+            double[] sortedKeys = new double[size];
+            double[][] sortedColumns = new double[columnCount][size];
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                if (!Double.isFinite(keys[row])) {
+                    throw new IllegalArgumentException("Interpolating table keys must be finite; got " + keys[row]);
+                }
+                if (i > 0 && keys[row] == sortedKeys[i - 1]) {
+                    throw new IllegalArgumentException("Interpolating table key " + keys[row] + " is repeated");
+                }
+                sortedKeys[i] = keys[row];
+                for (int c = 0; c < columnCount; c++) {
+                    sortedColumns[c][i] = rows[row][c];
+                }
+            }
+            return new PrimitiveInterpolatingTable(sortedKeys, sortedColumns, interpolation);
+        }
+    }
+
+    // Tables are only created through the builder
+    private PrimitiveInterpolatingTable(double[] keys, double[][] columns, Interpolation interpolation) {
+        this.keys = keys;
+        this.columns = columns;
+        this.interpolation = interpolation;
+        if (interpolation == Interpolation.MONOTONE_CUBIC) {
+            slopes = new double[columns.length][];
+            quadratics = new double[columns.length][keys.length];
+            cubics = new double[columns.length][keys.length];
+            for (int c = 0; c < columns.length; c++) {
+                slopes[c] = monotoneSlopes(keys, columns[c]);
+                for (int i = 0; i < keys.length - 1; i++) {
+                    double h = keys[i + 1] - keys[i];
+                    double secant = (columns[c][i + 1] - columns[c][i]) / h;
+                    quadratics[c][i] = (3.0 * secant - 2.0 * slopes[c][i] - slopes[c][i + 1]) / h;
+                    cubics[c][i] = (slopes[c][i] + slopes[c][i + 1] - 2.0 * secant) / (h * h);
+                }
+            }
+        } else {
+            slopes = null;
+            quadratics = null;
+            cubics = null;
+        }
+    }
+
+    // Returns the interpolated value of a single column
+    public double get(double key, int column) {
+        double[] values = columns[column];
+        int lower = lowerIndex(key);
+        if (lower < 0) {
+            return values[0];
+        }
+        if (lower >= keys.length - 1) {
+            return values[keys.length - 1];
+        }
+        return interpolate(column, lower, key);
+    }
+
+    // Writes the interpolated value of every column into out (which must hold at least getColumnCount() values) and returns it
+    public double[] get(double key, double[] out) {
+        int lower = lowerIndex(key);
+        if (lower < 0 || lower >= keys.length - 1) {
+            int row = lower < 0 ? 0 : keys.length - 1;
+            for (int c = 0; c < columns.length; c++) {
+                out[c] = columns[c][row];
+            }
+            return out;
+        }
+        for (int c = 0; c < columns.length; c++) {
+            out[c] = interpolate(c, lower, key);
+        }
+        return out;
+    }
+
+    // Returns the number of rows
+    public int size() {
+        return keys.length;
+    }
+
+    // Returns the number of value columns
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    // Returns how values are filled in between rows
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    // Returns the key of a row
+    public double getKey(int row) {
+        return keys[row];
+    }
+
+    // Returns the value of a column in a row
+    public double getValue(int row, int column) {
+        return columns[column][row];
+    }
+
+    // Evaluates a column between row lower and lower + 1
+    private double interpolate(int column, int lower, double key) {
+        double[] values = columns[column];
+        if (cubics == null) {
+            double t = (key - keys[lower]) / (keys[lower + 1] - keys[lower]);
+            return values[lower] + (values[lower + 1] - values[lower]) * t;
+        }
+        double dx = key - keys[lower];
+        return values[lower] + dx * (slopes[column][lower] + dx * (quadratics[column][lower] + dx * cubics[column][lower]));
+    }
+
+    // Returns the slope at every row of a Fritsch-Carlson monotone cubic through the given points
+    // Interior slopes are the weighted harmonic mean of the neighbouring secants (0 at a local extremum), which keeps the
+    // curve between its neighbouring rows; the end slopes are the end secants
+    private static double[] monotoneSlopes(double[] keys, double[] values) {
+        int n = keys.length;
+        double[] slopes = new double[n];
+        if (n < 2) {
+            return slopes;
+        }
+        double[] secants = new double[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            secants[i] = (values[i + 1] - values[i]) / (keys[i + 1] - keys[i]);
+        }
+        slopes[0] = secants[0];
+        slopes[n - 1] = secants[n - 2];
+        for (int i = 1; i < n - 1; i++) {
+            if (secants[i - 1] * secants[i] <= 0.0) {
+                slopes[i] = 0.0;
+            } else {
+                double before = keys[i] - keys[i - 1];
+                double after = keys[i + 1] - keys[i];
+                double beforeWeight = 2.0 * after + before;
+                double afterWeight = after + 2.0 * before;
+                slopes[i] = (beforeWeight + afterWeight) / (beforeWeight / secants[i - 1] + afterWeight / secants[i]);
+            }
+        }
+        return slopes;
+    }
+
+    // Returns the index of the last key <= the given key, -1 if it is below the first key (NaN is treated as below)
+    private int lowerIndex(double key) {
+        if (!(key >= keys[0])) {
+            return -1;
+        }
+        int low = 0;
+        int high = keys.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+}
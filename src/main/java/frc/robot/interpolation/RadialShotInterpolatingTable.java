@@ -0,0 +1,56 @@
+package frc.robot.interpolation;
+
+import static frc.robot.Constants.Vision.*;
+
+// Radial lead (m) for shooting on the move, keyed on the distance to the center of the hub (m) and the robot's speed toward the hub (m/s)
+// The lead moves the shot aim position toward the robot (away when negative), so the stationary shot table is looked up at a
+// shorter distance while driving in and a longer one while backing away; 0 m/s needs no lead, leaving stationary shots untouched
+//
+// Seeded from the old radial model (speed * ball flight time at the row's distance * 0.9, with the flight time clamped past the
+// ends of the ball flight time table); tune each cell from moving shots in RADIAL_SHOT_TABLE_FILE
+public class RadialShotInterpolatingTable {
+
+    private RadialShotInterpolatingTable() {}
+
+    // Radial speeds (m/s) of the table's columns; RADIAL_SHOT_TABLE_FILE has one lead column per speed, in this order
+    private static final double[] RADIAL_SPEEDS = {-3.0, -2.0, -1.0, 0.0, 1.0, 2.0, 3.0};
+
+    // Built-in table, used unless RADIAL_SHOT_TABLE_FILE loads
+    private static volatile BilinearInterpolatingTable table = new BilinearInterpolatingTable.Builder(RADIAL_SPEEDS)
+        .row(2.0, -3.326, -2.218, -1.109, 0.0, 1.109, 2.218, 3.326) // 1.232 s flight
+        .row(2.5, -3.339, -2.226, -1.113, 0.0, 1.113, 2.226, 3.339) // 1.237 s flight
+        .row(3.0, -3.340, -2.227, -1.113, 0.0, 1.113, 2.227, 3.340) // 1.237 s flight
+        .row(3.5, -3.423, -2.282, -1.141, 0.0, 1.141, 2.282, 3.423) // 1.268 s flight
+        .row(4.0, -3.418, -2.279, -1.139, 0.0, 1.139, 2.279, 3.418) // 1.266 s flight
+        .row(5.0, -3.418, -2.279, -1.139, 0.0, 1.139, 2.279, 3.418) // 1.266 s flight
+        .row(6.0, -3.418, -2.279, -1.139, 0.0, 1.139, 2.279, 3.418) // 1.266 s flight
+        .build();
+
+    // Loads RADIAL_SHOT_TABLE_FILE from the deploy directory and reloads it whenever it changes
+    public static void load() {
+        TableWatcher.watch(RADIAL_SHOT_TABLE_FILE, RADIAL_SPEEDS.length, Interpolation.LINEAR, 0.0, loaded -> table = toBilinear(loaded));
+    }
+
+    // Returns the current table
+    public static BilinearInterpolatingTable getTable() {
+        return table;
+    }
+
+    public static double get(double distanceToCenterOfHub, double radialSpeedTowardHub) {
+        return table.get(distanceToCenterOfHub, radialSpeedTowardHub);
+    }
+
+    // Converts a parsed table file (one row per distance, one lead column per radial speed) into the bilinear table
+    private static BilinearInterpolatingTable toBilinear(PrimitiveInterpolatingTable rows) {
+        BilinearInterpolatingTable.Builder builder = new BilinearInterpolatingTable.Builder(RADIAL_SPEEDS);
+        double[] leads = new double[RADIAL_SPEEDS.length];
+        for (int row = 0; row < rows.size(); row++) {
+            for (int column = 0; column < leads.length; column++) {
+                leads[column] = rows.getValue(row, column);
+            }
+            builder.row(rows.getKey(row), leads);
+        }
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,182 @@
+package frc.robot.interpolation;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import static frc.robot.Constants.Vision.*;
+
+// Loads interpolating tables from CSV files in the deploy directory and reloads them whenever a file changes
+// Parsing and validation happen on a background thread; a table is only handed to its consumer once it is complete and valid,
+// so the consumer can publish it with a single volatile write and the robot loop never blocks or sees a half built table
+// A file that is missing or invalid leaves the current table (initially the built-in one) in place
+//
+// File format: one row per line as "key, value, value, ...", '#' starts a comment and a non-numeric first line is a header
+public class TableWatcher {
+
+    // A registered table file
+    private static class WatchedTable {
+        final Path path;
+        final int columnCount;
+        final Interpolation interpolation;
+        final double keyOffset;
+        final Consumer<PrimitiveInterpolatingTable> consumer;
+
+        WatchedTable(Path path, int columnCount, Interpolation interpolation, double keyOffset, Consumer<PrimitiveInterpolatingTable> consumer) {
+            this.path = path;
+            this.columnCount = columnCount;
+            this.interpolation = interpolation;
+            this.keyOffset = keyOffset;
+            this.consumer = consumer;
+        }
+    }
+
+    private static final List<WatchedTable> tables = new CopyOnWriteArrayList<>();
+    private static final Set<Path> watchedDirectories = new HashSet<>();
+    private static WatchService watchService;
+    private static Thread thread;
+
+    // Private constructor so that the class cannot be instantiated
+    private TableWatcher() {}
+
+    // Loads a table file (relative to the deploy directory) now and again every time it changes, passing each valid table to the consumer
+    // keyOffset is added to every key in the file
+    public static synchronized void watch(String fileName, int columnCount, Interpolation interpolation, double keyOffset, Consumer<PrimitiveInterpolatingTable> consumer) {
+        WatchedTable table = new WatchedTable(Filesystem.getDeployDirectory().toPath().resolve(fileName).toAbsolutePath(), columnCount, interpolation, keyOffset, consumer);
+        tables.add(table);
+        load(table);
+
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+            }
+            Path directory = table.path.getParent();
+            if (Files.isDirectory(directory) && watchedDirectories.add(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to watch " + table.path + " for changes");
+            e.printStackTrace();
+            return;
+        }
+
+        if (thread == null) {
+            thread = new Thread(TableWatcher::run, "TableWatcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
+    // Parses a table file; throws if it cannot be read or is not a valid table
+    public static PrimitiveInterpolatingTable parse(Path path, int columnCount, Interpolation interpolation, double keyOffset) throws IOException {
+        PrimitiveInterpolatingTable.Builder builder = new PrimitiveInterpolatingTable.Builder(columnCount).interpolation(interpolation);
+        List<String> lines = Files.readAllLines(path);
+        boolean firstRow = true;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (firstRow && !isNumber(fields[0].trim())) {
+                firstRow = false;
+                continue;
+            }
+            firstRow = false;
+            if (fields.length != columnCount + 1) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " has " + fields.length + " fields; expected " + (columnCount + 1));
+            }
+            double[] values = new double[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                values[c] = parseFinite(fields[c + 1], i);
+            }
+            builder.add(parseFinite(fields[0], i) + keyOffset, values);
+        }
+        return builder.build();
+    }
+
+    // Watcher thread loop; waits for a change, lets the writer finish, then reloads every table whose file changed
+    private static void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep((long) (TABLE_RELOAD_DELAY_SECONDS * 1000.0));
+                Set<Path> changed = new HashSet<>();
+                while (key != null) {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path) {
+                            changed.add(directory.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                    key = watchService.poll();
+                }
+                for (WatchedTable table : tables) {
+                    if (changed.contains(table.path)) {
+                        load(table);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Parses a table file and hands it to the consumer, keeping the current table if anything is wrong
+    private static void load(WatchedTable table) {
+        if (!Files.exists(table.path)) {
+            System.out.println("Table file " + table.path + " not found; using the current table");
+            return;
+        }
+        try {
+            PrimitiveInterpolatingTable parsed = parse(table.path, table.columnCount, table.interpolation, table.keyOffset);
+            table.consumer.accept(parsed);
+            System.out.println("Loaded " + parsed.size() + " rows from " + table.path);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Rejected table file " + table.path + ": " + e.getMessage() + "; using the current table");
+        }
+    }
+
+    // Returns whether a field is a number (used to detect the header line)
+    private static boolean isNumber(String field) {
+        try {
+            Double.parseDouble(field);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Parses a field, throwing if it is not a finite number
+    private static double parseFinite(String field, int lineIndex) {
+        double value;
+        try {
+            value = Double.parseDouble(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + (lineIndex + 1) + " has a field that is not a number: \"" + field.trim() + "\"");
+        }
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Line " + (lineIndex + 1) + " has a value that is not finite: " + value);
+        }
+        return value;
+    }
+
+}
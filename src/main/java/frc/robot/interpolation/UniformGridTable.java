@@ -0,0 +1,102 @@
+package frc.robot.interpolation;
+
+// Interpolating table resampled onto a uniform key grid, so a lookup is one multiply, one floor and one lerp per column
+// Compiled once from a PrimitiveInterpolatingTable (which stays the reference implementation); clamps outside the reference's key range
+public final class UniformGridTable {
+
+    private final double minKey;
+    private final double maxKey;
+    private final double inverseStep;
+    private final int lastIndex;
+    private final double[][] columns;
+
+    // Tables are only created by compile()
+    private UniformGridTable(double minKey, double maxKey, double inverseStep, double[][] columns) {
+        this.minKey = minKey;
+        this.maxKey = maxKey;
+        this.inverseStep = inverseStep;
+        this.lastIndex = columns[0].length - 1;
+        this.columns = columns;
+    }
+
+    // Resamples the reference table onto a grid no coarser than maxStep between its first and last keys
+    public static UniformGridTable compile(PrimitiveInterpolatingTable reference, double maxStep) {
+        if (!(maxStep > 0.0)) {
+            throw new IllegalArgumentException("Grid step must be positive; got " + maxStep);
+        }
+        double minKey = reference.getKey(0);
+        double maxKey = reference.getKey(reference.size() - 1);
+        double range = maxKey - minKey;
+        int intervals = Math.max(1, (int) Math.ceil(range / maxStep));
+        double step = range / intervals;
+
+        double[][] columns = new double[reference.getColumnCount()][intervals + 1];
+        double[] row = new double[reference.getColumnCount()];
+        for (int i = 0; i <= intervals; i++) {
+            reference.get(i == intervals ? maxKey : minKey + i * step, row);
+            for (int c = 0; c < row.length; c++) {
+                columns[c][i] = row[c];
+            }
+        }
+        return new UniformGridTable(minKey, maxKey, range > 0.0 ? 1.0 / step : 0.0, columns);
+    }
+
+    // Returns the interpolated value of a single column
+    public double get(double key, int column) {
+        double position = position(key);
+        int index = Math.min((int) position, lastIndex - 1);
+        double[] values = columns[column];
+        return values[index] + (values[index + 1] - values[index]) * (position - index);
+    }
+
+    // Writes the interpolated value of every column into out (which must hold at least getColumnCount() values) and returns it
+    public double[] get(double key, double[] out) {
+        double position = position(key);
+        int index = Math.min((int) position, lastIndex - 1);
+        double t = position - index;
+        for (int c = 0; c < columns.length; c++) {
+            double[] values = columns[c];
+            out[c] = values[index] + (values[index + 1] - values[index]) * t;
+        }
+        return out;
+    }
+
+    // Returns the number of value columns
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    // Returns the number of grid points
+    public int size() {
+        return lastIndex + 1;
+    }
+
+    // Returns the largest difference from the reference in each column, sampled samplesPerStep times per grid step
+    // from one step below the first key to one step above the last key (so the clamping is checked too)
+    public double[] getMaxError(PrimitiveInterpolatingTable reference, int samplesPerStep) {
+        double[] maxError = new double[columns.length];
+        double[] expected = new double[columns.length];
+        double[] actual = new double[columns.length];
+        double sampleStep = inverseStep > 0.0 ? 1.0 / (inverseStep * samplesPerStep) : 1.0;
+        int samples = lastIndex * samplesPerStep;
+        for (int i = -samplesPerStep; i <= samples + samplesPerStep; i++) {
+            double key = minKey + i * sampleStep;
+            reference.get(key, expected);
+            get(key, actual);
+            for (int c = 0; c < columns.length; c++) {
+                maxError[c] = Math.max(maxError[c], Math.abs(expected[c] - actual[c]));
+            }
+        }
+        return maxError;
+    }
+
+    // Maps a key to its fractional grid position, clamped to the grid (NaN maps to the first point like the reference table)
+    private double position(double key) {
+        double position = (key - minKey) * inverseStep;
+        if (!(position > 0.0)) {
+            return 0.0;
+        }
+        return Math.min(position, lastIndex);
+    }
+
+}
@@ -0,0 +1,146 @@
+package frc.robot.sensors;
+
+import java.lang.invoke.VarHandle;
+
+import com.kauailabs.navx.AHRSProtocol.AHRSUpdateBase;
+import com.kauailabs.navx.frc.AHRS;
+import com.kauailabs.navx.frc.ITimestampedDataSubscriber;
+
+import frc.robot.commons.BreadUtil;
+import static frc.robot.Constants.Drive.*;
+
+// Buffers navX yaw samples as they arrive through the navX's timestamped data callback, so the yaw can be read without
+// touching the navX from the robot loop and looked up at any recent FPGA timestamp (for odometry and vision latency compensation)
+//
+// Samples are stamped with the navX's own sensor clock mapped onto the FPGA clock: the offset between the two is the smallest
+// (arrival time - sensor time) seen so far, which removes the variable SPI transport delay, and is allowed to creep up slowly to follow clock drift
+// The yaw is unwrapped into a continuous counterclockwise positive angle in radians
+//
+// Concurrency: the navX IO thread is the only writer; any thread may read (same seqlock scheme as the RobotPositionHistory)
+public class TimestampedGyro implements ITimestampedDataSubscriber {
+
+    private static final int capacity = Integer.highestOneBit(Math.max(2, GYRO_HISTORY_CAPACITY) - 1) << 1; // Rounded up to a power of two, as the index mask needs (like the LogRingBuffer)
+    private static final int mask = capacity - 1;
+
+    private final AHRS gyro;
+    private final double[] times = new double[capacity];
+    private final double[] yaws = new double[capacity];
+
+    // Written only by the navX IO thread
+    private int head = 0;
+    private int count = 0;
+    private double clockOffset = Double.POSITIVE_INFINITY;
+    private double lastSensorYawDegrees = Double.NaN;
+    private double continuousYaw = 0.0;
+    private long lastSensorTimestamp = Long.MIN_VALUE;
+
+    // Even while the samples are stable, odd while the writer is changing them
+    private volatile long sequence = 0;
+
+    // Subscribes to the navX's timestamped data callback
+    public TimestampedGyro(AHRS gyro) {
+        this.gyro = gyro;
+        gyro.registerCallback(this, null);
+    }
+
+    // navX IO thread callback; sensorTimestamp is in milliseconds on the navX clock
+    @Override
+    public void timestampedDataReceived(long systemTimestamp, long sensorTimestamp, AHRSUpdateBase data, Object context) {
+        if (sensorTimestamp <= lastSensorTimestamp) {
+            return;
+        }
+        lastSensorTimestamp = sensorTimestamp;
+
+        // Map the sensor clock onto the FPGA clock
+        double sensorSeconds = sensorTimestamp / 1000.0;
+        double offset = BreadUtil.getFPGATimeSeconds() - sensorSeconds;
+        clockOffset = Math.min(clockOffset + GYRO_CLOCK_DRIFT_ALLOWANCE_SECONDS, offset);
+
+        // Unwrap the yaw (the navX reports clockwise positive degrees in [-180, 180])
+        double yawDegrees = data.yaw;
+        if (!Double.isNaN(lastSensorYawDegrees)) {
+            continuousYaw -= Math.toRadians(Math.IEEEremainder(yawDegrees - lastSensorYawDegrees, 360.0));
+        } else {
+            continuousYaw = -Math.toRadians(yawDegrees);
+        }
+        lastSensorYawDegrees = yawDegrees;
+
+        sequence = sequence + 1;
+        VarHandle.storeStoreFence();
+        times[head] = sensorSeconds + clockOffset;
+        yaws[head] = continuousYaw;
+        head = (head + 1) & mask;
+        count = Math.min(count + 1, capacity);
+        sequence = sequence + 1;
+    }
+
+    // Returns whether samples are arriving (the latest is less than GYRO_TIMEOUT_SECONDS old)
+    public boolean isReceiving() {
+        double latest = getLatestTimestamp();
+        return !Double.isNaN(latest) && BreadUtil.getFPGATimeSeconds() - latest < GYRO_TIMEOUT_SECONDS;
+    }
+
+    // Returns the latest yaw (radians, counterclockwise positive); falls back to reading the navX if no samples are arriving
+    public double getYawRadians() {
+        if (!isReceiving()) {
+            return gyro.getRotation2d().getRadians();
+        }
+        return getYawRadians(Double.POSITIVE_INFINITY);
+    }
+
+    // Returns the yaw (radians, counterclockwise positive) interpolated at an FPGA timestamp, clamped to the oldest/latest sample; NaN if there are no samples
+    public double getYawRadians(double timestamp) {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int n = count;
+                int oldest = (head - n) & mask;
+                double yaw = Double.NaN;
+                if (n > 0) {
+                    int low = 0;
+                    int high = n - 1;
+                    if (!(timestamp >= times[oldest])) {
+                        high = 0;
+                    }
+                    while (low < high) {
+                        int mid = (low + high + 1) >>> 1;
+                        if (times[(oldest + mid) & mask] <= timestamp) {
+                            low = mid;
+                        } else {
+                            high = mid - 1;
+                        }
+                    }
+                    int floor = (oldest + low) & mask;
+                    int ceil = (oldest + Math.min(low + 1, n - 1)) & mask;
+                    double t = 0.0;
+                    if (times[ceil] > times[floor]) {
+                        t = Math.max(0.0, Math.min(1.0, (timestamp - times[floor]) / (times[ceil] - times[floor])));
+                    }
+                    yaw = yaws[floor] + (yaws[ceil] - yaws[floor]) * t;
+                }
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return yaw;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Returns the FPGA timestamp of the latest sample, NaN if there are none
+    public double getLatestTimestamp() {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int n = count;
+                double timestamp = times[(head - 1) & mask];
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return n > 0 ? timestamp : Double.NaN;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+}
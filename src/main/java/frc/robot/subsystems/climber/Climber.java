@@ -4,9 +4,11 @@ import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.commons.BreadTelemetry;
 import frc.robot.commons.BreadUtil;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.drivers.CachedTalonFX;
 import frc.robot.drivers.TalonUtil;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.DemandType;
@@ -15,6 +17,7 @@ import com.ctre.phoenix.motorcontrol.StatusFrame;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 import static frc.robot.Constants.Climber.*;
+import static frc.robot.Constants.Drivers.*;
 
 
 public class Climber extends SubsystemBase {
@@ -22,6 +25,7 @@ public class Climber extends SubsystemBase {
     private final DoubleSolenoid climberSolenoids = new DoubleSolenoid(PneumaticsModuleType.CTREPCM, CLIMBER_FORWARD_CHANNEL, CLIMBER_REVERSE_CHANNEL);
     private final TalonFX topMotor = new TalonFX(TOP_CLIMBER_MOTOR_ID);
     private final TalonFX bottomMotor = new TalonFX(BOTTOM_CLIMBER_MOTOR_ID);
+    private final CachedTalonFX climber = new CachedTalonFX(topMotor, TALON_POSITION_TOLERANCE, FEED_FORWARD_TOLERANCE);
 
     // State variables
     private ClimberStates systemState = ClimberStates.STARTING_CONFIGURATION;
@@ -31,6 +35,10 @@ public class Climber extends SubsystemBase {
     private boolean requestPreviousState = false;
     private double lastTransitionedFPGASeconds = 0.0;
 
+    // Telemetry
+    private final BreadTelemetry.NumberEntry heightTelemetry = BreadTelemetry.number("Climber Height", 0.001, 25.0);
+    private final int profilerSection = LoopProfiler.register("Climber");
+
     public Climber() {
 
         // Configure the top climber motor
@@ -62,17 +70,17 @@ public class Climber extends SubsystemBase {
 
     // Commands the max velocity of the climber
     private void commandMaxVelocity(double velocity) {
-        topMotor.configMotionCruiseVelocity(metersPerSecondToIntegratedSensorUnits(velocity));
+        climber.configMotionCruiseVelocity(metersPerSecondToIntegratedSensorUnits(velocity), "Climber Cruise Velocity Configuration Failed");
     }
 
     public void commandPercent(double percent) {
-        topMotor.set(ControlMode.PercentOutput, percent);
+        climber.set(ControlMode.PercentOutput, percent);
     }
 
     // Commands the height setpoint of the climber
     public void commandHeightSetpoint(double meters, boolean isLifting) {
         double output = metersToIntegratedSensorUnits(MathUtil.clamp(meters, CLIMBER_MINIMUM_TRAVEL + 0.001, CLIMBER_MAXIMUM_TRAVEL - 0.001));
-        topMotor.set(ControlMode.MotionMagic, output, DemandType.ArbitraryFeedForward, isLifting ? -0.16893148154 : 0.0);
+        climber.set(ControlMode.MotionMagic, output, DemandType.ArbitraryFeedForward, isLifting ? -0.16893148154 : 0.0);
     }
 
     // Commands the neutral mode of the climber
@@ -93,7 +101,7 @@ public class Climber extends SubsystemBase {
 
     // Commands the climber to neutral
     private void commandNeutral() {
-        topMotor.set(ControlMode.PercentOutput, 0.0);
+        climber.set(ControlMode.PercentOutput, 0.0);
     }
 
     // Returns the position of the climber in meters
@@ -151,6 +159,7 @@ public class Climber extends SubsystemBase {
 
     @Override
     public void periodic() {
+        LoopProfiler.start(profilerSection);
         ClimberStates nextSystemState = systemState;
         if (systemState == ClimberStates.STARTING_CONFIGURATION) {
             // Outputs
@@ -298,7 +307,8 @@ public class Climber extends SubsystemBase {
 
         systemState = nextSystemState;
 
-        SmartDashboard.putNumber("Climber Height", getPositionMeters());
+        heightTelemetry.set(getPositionMeters());
+        LoopProfiler.stop(profilerSection);
     } 
 
     private void handleSolenoidExtension(boolean wantsExtended) {
@@ -1,49 +1,40 @@
 package frc.robot.subsystems.statemachines;
 
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.Map.Entry;
-import static java.util.Map.entry;
+import frc.robot.interpolation.PrimitiveInterpolatingTable;
+import frc.robot.interpolation.TableWatcher;
+import static frc.robot.Constants.Flywheel.*;
 
 public class FeedForwardInterpolatingTable {
 
     private FeedForwardInterpolatingTable() {}
 
-    public static TreeMap<Double, Double> table = new TreeMap<>(
-        Map.ofEntries(
-            entry(225.0, 0.1),
-            entry(710.0, 0.2),
-            entry(935.0, 0.25),
-            entry(1157.0, 0.3),
-            entry(1403.0, 0.35),
-            entry(1643.0, 0.4),
-            entry(2105.0, 0.5),
-            entry(2350.0, 0.55),
-            entry(2585.0, 0.6),
-            entry(2843.0, 0.65),
-            entry(3145.0, 0.7),
-            entry(3388.0, 0.75),
-            entry(3645.0, 0.8),
-            entry(3900.0, 0.85),
-            entry(4167.0, 0.9)
-        )
-    );
+    // Built-in table, used unless FEED_FORWARD_TABLE_FILE loads
+    private static volatile PrimitiveInterpolatingTable table = new PrimitiveInterpolatingTable.Builder(1)
+        .interpolation(FEED_FORWARD_TABLE_INTERPOLATION)
+        .add(225.0, 0.1)
+        .add(710.0, 0.2)
+        .add(935.0, 0.25)
+        .add(1157.0, 0.3)
+        .add(1403.0, 0.35)
+        .add(1643.0, 0.4)
+        .add(2105.0, 0.5)
+        .add(2350.0, 0.55)
+        .add(2585.0, 0.6)
+        .add(2843.0, 0.65)
+        .add(3145.0, 0.7)
+        .add(3388.0, 0.75)
+        .add(3645.0, 0.8)
+        .add(3900.0, 0.85)
+        .add(4167.0, 0.9)
+        .build();
 
-    public static double get(double flywheelRPM) {
-        Entry<Double, Double> ceil = table.ceilingEntry(flywheelRPM);
-        Entry<Double, Double> floor = table.floorEntry(flywheelRPM);
-        if (ceil == null) return floor.getValue();
-        if (floor == null) return ceil.getValue();
-        if (ceil.getValue().equals(floor.getValue())) return ceil.getValue();
-        return lerp(
-            floor.getValue(), 
-            ceil.getValue(),
-            (flywheelRPM - floor.getKey()) / (ceil.getKey() - floor.getKey())
-        );
+    // Loads FEED_FORWARD_TABLE_FILE from the deploy directory and reloads it whenever it changes
+    public static void load() {
+        TableWatcher.watch(FEED_FORWARD_TABLE_FILE, 1, FEED_FORWARD_TABLE_INTERPOLATION, 0.0, loaded -> table = loaded);
     }
 
-    private static double lerp(double y1, double y2, double t) {
-        return y1 + (t * (y2 - y1));
+    public static double get(double flywheelRPM) {
+        return table.get(flywheelRPM, 0);
     }
     
 }
@@ -9,9 +9,12 @@ import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 
 import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotContainer;
+import frc.robot.commons.BreadTelemetry;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.drivers.CachedTalonFX;
 import frc.robot.drivers.TalonFXFactory;
 import frc.robot.drivers.TalonUtil;
 import frc.robot.sensors.BeamBreak;
@@ -21,12 +24,15 @@ import frc.robot.subsystems.statemachines.Shooter.ShooterState;
 import frc.robot.Robot;
 import static frc.robot.Constants.Gut.*;
 import static frc.robot.Constants.Neck.*;
+import static frc.robot.Constants.Drivers.*;
 
 public class GutNeck extends SubsystemBase {
 
     // Instantiate the gut hardware
     private final TalonFX gutMotor = TalonFXFactory.createDefaultTalon(GUT_ID);
     private final TalonFX neckMotor = TalonFXFactory.createDefaultTalon(NECK_ID);
+    private final CachedTalonFX gut = new CachedTalonFX(gutMotor, TALON_VELOCITY_TOLERANCE);
+    private final CachedTalonFX neck = new CachedTalonFX(neckMotor, TALON_VELOCITY_TOLERANCE);
     private final BeamBreak leftBeamBreak = new BeamBreak(LEFT_BEAM_BREAK_CHANNEL);
     private final BeamBreak rightBeamBreak = new BeamBreak(RIGHT_BEAM_BREAK_CHANNEL);
     private final BeamBreak middleBeamBreak = new BeamBreak(MIDDLE_BEAM_BREAK_CHANNEL);
@@ -39,6 +45,22 @@ public class GutNeck extends SubsystemBase {
     private Timer stowingTimer = new Timer();
     private boolean ballsExpelledFromNeck = false;
 
+    // Flight recorder channels
+    private final int recorderState = FlightRecorder.register("GutNeck State");
+    private final int recorderLeftBeamBreak = FlightRecorder.register("Left BeamBreak");
+    private final int recorderRightBeamBreak = FlightRecorder.register("Right BeamBreak");
+    private final int recorderMiddleBeamBreak = FlightRecorder.register("Middle BeamBreak");
+    private final int recorderTopBeamBreak = FlightRecorder.register("Top BeamBreak");
+
+    // Telemetry
+    private final BreadTelemetry.StringEntry stateTelemetry = BreadTelemetry.string("GutNeck State");
+    private final BreadTelemetry.BooleanEntry requestShootTelemetry = BreadTelemetry.bool("GutNeck Request Shoot");
+    private final BreadTelemetry.BooleanEntry middleBeamBreakTelemetry = BreadTelemetry.bool("Middle BeamBreak");
+    private final BreadTelemetry.BooleanEntry topBeamBreakTelemetry = BreadTelemetry.bool("Top BeamBreak");
+    private final BreadTelemetry.NumberEntry connectionFaultTelemetry = BreadTelemetry.number("Connection Fault Triggered", 0.5, 2.0);
+    private final BreadTelemetry.NumberEntry timeoutFaultTelemetry = BreadTelemetry.number("Timeout Fault Triggered", 0.5, 2.0);
+    private final int profilerSection = LoopProfiler.register("GutNeck");
+
     // Statemachine inputs
     private boolean acceptOpposingCargo = false;
     private boolean requestIntakeLeft = false;
@@ -117,12 +139,12 @@ public class GutNeck extends SubsystemBase {
 
     // Sets the surface speed of the gut
     private void commandGutSurfaceSpeed(double speed) {
-        gutMotor.set(ControlMode.Velocity, gutSurfaceSpeedMetersPerSecondToIntegratedSensorUnits(speed));
+        gut.set(ControlMode.Velocity, gutSurfaceSpeedMetersPerSecondToIntegratedSensorUnits(speed));
     }
 
     // Sets the surface speed of the neck
     private void commandNeckSurfaceSpeed(double speed) {
-        neckMotor.set(ControlMode.Velocity, neckSurfaceSpeedMetersPerSecondToIntegratedSensorUnits(speed));
+        neck.set(ControlMode.Velocity, neckSurfaceSpeedMetersPerSecondToIntegratedSensorUnits(speed));
     }
 
     // Converts integrated sensor units to the neck's surface speed
@@ -203,6 +225,7 @@ public class GutNeck extends SubsystemBase {
     // Update the state machine
     @Override
     public void periodic() { // TODO ADD COMMENTS
+        LoopProfiler.start(profilerSection);
         GutNeckStates nextSystemState = systemState;
         if (systemState == GutNeckStates.IDLE_NO_CARGO) { 
             /* Gut and neck are stationary; no cargo is stored */
@@ -349,6 +372,7 @@ public class GutNeck extends SubsystemBase {
                 exitStowingSequence();
                 nextSystemState = GutNeckStates.IDLE_ONE_CARGO;
             } else if (stowingTimer.get() > 3.0) {
+                FlightRecorder.trigger("GutNeckStowTimeout");
                 exitStowingSequence();
                 nextSystemState = GutNeckStates.IDLE_NO_CARGO;
             }
@@ -408,18 +432,24 @@ public class GutNeck extends SubsystemBase {
             }
         }
         systemState = nextSystemState;
-        SmartDashboard.putString("GutNeck State", getSystemState().name());
-        SmartDashboard.putBoolean("GutNeck Request Shoot", requestShoot);
-        SmartDashboard.putBoolean("Middle BeamBreak", getMiddleBeamBreakTriggered());
-        SmartDashboard.putBoolean("Top BeamBreak", getTopBeamBreakTriggered());
+        FlightRecorder.set(recorderState, systemState.ordinal());
+        FlightRecorder.set(recorderLeftBeamBreak, getLeftBeamBreakTriggered());
+        FlightRecorder.set(recorderRightBeamBreak, getRightBeamBreakTriggered());
+        FlightRecorder.set(recorderMiddleBeamBreak, getMiddleBeamBreakTriggered());
+        FlightRecorder.set(recorderTopBeamBreak, getTopBeamBreakTriggered());
+        stateTelemetry.set(getSystemState().name());
+        requestShootTelemetry.set(requestShoot);
+        middleBeamBreakTelemetry.set(getMiddleBeamBreakTriggered());
+        topBeamBreakTelemetry.set(getTopBeamBreakTriggered());
         if (!colorSensor.isConnected()) {
             colorSensor.triggerConnectionFault();
         }
         if (!colorSensor.hasNotTimeout()) {
             colorSensor.triggerTimeoutFault();
         }
-        SmartDashboard.putNumber("Connection Fault Triggered", colorSensor.getConnectionFaultTriggered());
-        SmartDashboard.putNumber("Timeout Fault Triggered", colorSensor.getTimeoutFaultTriggered());
+        connectionFaultTelemetry.set(colorSensor.getConnectionFaultTriggered());
+        timeoutFaultTelemetry.set(colorSensor.getTimeoutFaultTriggered());
+        LoopProfiler.stop(profilerSection);
     }
 
     // Private method to begin the shooting sequence
@@ -11,6 +11,8 @@ import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.drivers.CachedTalonFX;
 import frc.robot.drivers.TalonFXFactory;
 import frc.robot.drivers.TalonUtil;
 
@@ -18,12 +20,14 @@ public class Intake extends SubsystemBase {
 
     // Intake Hardware
     private final TalonFX motor; 
+    private final CachedTalonFX cachedMotor;
     private final DoubleSolenoid doubleSolenoids;
 
     // Variables to track system state
     private IntakeState systemState = IntakeState.IDLE_RETRACTED;
     private boolean spit = false;
     private boolean extended = true;
+    private final int profilerSection;
 
     public Intake(int motorID, TalonFXInvertType invertType, int pneumaticsForwardChannel, int pneumaticsReverseChannel, int pneumaticsModuleNumber) {
         // Configure the intake motor
@@ -35,9 +39,13 @@ public class Intake extends SubsystemBase {
         motor.setStatusFramePeriod(StatusFrame.Status_1_General, 229);
         motor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 227);
         TalonUtil.checkError(motor.configAllSettings(config), "Intake Configuration with ID " + motorID + " Failed");
+        cachedMotor = new CachedTalonFX(motor);
 
         // Configure the double solenoid
         doubleSolenoids = new DoubleSolenoid(pneumaticsModuleNumber, PneumaticsModuleType.CTREPCM, pneumaticsForwardChannel, pneumaticsReverseChannel);
+
+        // Time each intake separately
+        profilerSection = LoopProfiler.register("Intake " + motorID);
     }
 
     // Requests the intake to extend and suck; value between [0, 1]
@@ -78,32 +86,33 @@ public class Intake extends SubsystemBase {
     // Update the statemachine in the periodic method of the intake subsystem
     @Override
     public void periodic() {
+        LoopProfiler.start(profilerSection);
         if (systemState == IntakeState.IDLE_RETRACTED) {
-            motor.set(ControlMode.PercentOutput, 0.0);
+            cachedMotor.set(ControlMode.PercentOutput, 0.0);
             if (extended) {
                 doubleSolenoids.set(Value.kForward);
                 extended = false;
             }
         } else if (systemState == IntakeState.IDLE_EXTENDED) {
-            motor.set(ControlMode.PercentOutput, 0.0);
+            cachedMotor.set(ControlMode.PercentOutput, 0.0);
             if (!extended) {
                 doubleSolenoids.set(Value.kReverse);
                 extended = true;
             }
         } else if (systemState == IntakeState.SUCK_EXTENDED) {
-            motor.set(ControlMode.PercentOutput, 1.0);
+            cachedMotor.set(ControlMode.PercentOutput, 1.0);
             if (!extended) {
                 doubleSolenoids.set(Value.kReverse);
                 extended = true;
             }
         } else if (systemState == IntakeState.SPIT_RETRACTED) {
-            motor.set(ControlMode.PercentOutput, spit ? -0.3 : -1.0);
+            cachedMotor.set(ControlMode.PercentOutput, spit ? -0.3 : -1.0);
             if (extended) {
                 doubleSolenoids.set(Value.kForward); 
                 extended = false;
             }
         } else if (systemState == IntakeState.SPIT_EXTENDED) {
-            motor.set(ControlMode.PercentOutput, spit ? -0.3 : -1.0);
+            cachedMotor.set(ControlMode.PercentOutput, spit ? -0.3 : -1.0);
             if (!extended) {
                 doubleSolenoids.set(Value.kReverse);
                 extended = true;
@@ -111,6 +120,7 @@ public class Intake extends SubsystemBase {
         } else {
             System.out.println("Error: Intake statemachine is not working properly.");
         }
+        LoopProfiler.stop(profilerSection);
     }
     
 }
@@ -15,36 +15,62 @@ import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import frc.robot.commons.BreadLogger;
+import frc.robot.commons.BinaryLogChannel;
+import frc.robot.commons.BreadTelemetry;
 import frc.robot.commons.BreadUtil;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.drivers.CachedSparkMax;
+import frc.robot.drivers.CachedTalonFX;
 import frc.robot.drivers.TalonFXFactory;
 import frc.robot.drivers.TalonUtil;
 
 import static frc.robot.Constants.Flywheel.*;
 import static frc.robot.Constants.Hood.*;
-
-import java.io.IOException;
+import static frc.robot.Constants.Drivers.*;
 
 public class Shooter extends SubsystemBase {
 
     // Flywheel Hardware 
     private final TalonFX leftFlywheelMotor = TalonFXFactory.createDefaultTalon(LEFT_MOTOR_ID);
     private final TalonFX rightFlywheelMotor = TalonFXFactory.createDefaultTalon(RIGHT_MOTOR_ID);
+    private final CachedTalonFX flywheel = new CachedTalonFX(leftFlywheelMotor, TALON_VELOCITY_TOLERANCE, FEED_FORWARD_TOLERANCE);
 
     // Hood hardware
     private final CANSparkMax hoodMotor = new CANSparkMax(HOOD_MOTOR_ID, MotorType.kBrushless);
     private final RelativeEncoder hoodEncoder = hoodMotor.getEncoder();
     private final SparkMaxPIDController hoodPID = hoodMotor.getPIDController();
     private final SparkMaxAnalogSensor hoodLimit = hoodMotor.getAnalog(SparkMaxAnalogSensor.Mode.kAbsolute);
+    private final CachedSparkMax hood = new CachedSparkMax(hoodMotor, HOOD_POSITION_TOLERANCE);
 
     // State logic
     private ShooterState systemState = ShooterState.HOMING;
     private double flywheelCalibration = FLYWHEEL_CALIBRATION;
 
     // Logging Code
-    private BreadLogger flywheelLogger = new BreadLogger("FlywheelData");
+    private final BinaryLogChannel flywheelLog = new BinaryLogChannel("FlywheelData", "timestamp:long, velocity:double, setpoint:double");
+
+    // Flight recorder channels
+    private final int recorderState = FlightRecorder.register("Shooter State");
+    private final int recorderFlywheelVelocity = FlightRecorder.register("Flywheel Velocity");
+    private final int recorderFlywheelSetpoint = FlightRecorder.register("Flywheel Setpoint");
+    private final int recorderHoodAngle = FlightRecorder.register("Hood Angle");
+
+    // Telemetry
+    private final BreadTelemetry.StringEntry stateTelemetry = BreadTelemetry.string("Shooter State");
+    private final BreadTelemetry.NumberEntry flywheelVelocityTelemetry = BreadTelemetry.number("Flywheel Velocity", 1.0, 50.0);
+    private final BreadTelemetry.NumberEntry flywheelSetpointTelemetry = BreadTelemetry.number("Flywheel Setpoint");
+    private final BreadTelemetry.NumberEntry hoodAngleTelemetry = BreadTelemetry.number("Hood Angle", 0.01, 50.0);
+    private final BreadTelemetry.NumberEntry flywheelOutputTelemetry = BreadTelemetry.number("Flywheel Motor Output", 0.005, 25.0);
+    private final BreadTelemetry.NumberEntry flywheelFFTelemetry = BreadTelemetry.number("Flywheel FF");
+    private final BreadTelemetry.BooleanEntry hoodAtSetpointTelemetry = BreadTelemetry.bool("Hood AtSetpoint");
+    private final BreadTelemetry.BooleanEntry flywheelAtSetpointTelemetry = BreadTelemetry.bool("FlywheelAtSetpoint");
+    private final BreadTelemetry.BooleanEntry hoodLimitSwitchTelemetry = BreadTelemetry.bool("Hood Limit Switch Triggered");
+    private final BreadTelemetry.NumberEntry flywheelLogDroppedTelemetry = BreadTelemetry.number("Flywheel Log Dropped", 0.5, 2.0);
+    private final BreadTelemetry.NumberEntry flywheelLogQueueDepthTelemetry = BreadTelemetry.number("Flywheel Log Queue Depth", 0.5, 2.0);
+    private final BreadTelemetry.NumberEntry flywheelCalibrationTelemetry = BreadTelemetry.number("Flywheel Calibration");
+    private final int profilerSection = LoopProfiler.register("Shooter");
 
     // State variables
     Timer homingTimer = new Timer();
@@ -101,24 +127,24 @@ public class Shooter extends SubsystemBase {
     private void commandHoodPosition(double degrees) {
         double adjustedSetpoint = MathUtil.clamp(degrees, MIN_HOOD_TRAVEL + 1, MAX_HOOD_TRAVEL - 1);
         if ((getHoodLimitSwitchTriggered() && degrees < getHoodPosition())) {
-            hoodMotor.set(0.0);
+            hood.set(0.0);
         } else {
-            hoodPID.setReference(adjustedSetpoint, CANSparkMax.ControlType.kPosition);
+            hood.setReference(adjustedSetpoint, CANSparkMax.ControlType.kPosition);
         }
     }
 
     // Private method to set the hood percent
     private void commandHoodVoltage(double volts) {
-        hoodMotor.setVoltage(volts);
+        hood.setVoltage(volts);
     }
 
     // Private method to set the flywheel setpoint
     private void commandFlywheelVelocity(double rpm) {
         if (rpm==0.0) {
-            leftFlywheelMotor.set(ControlMode.PercentOutput, 0.0);
+            flywheel.set(ControlMode.PercentOutput, 0.0);
         } else {
-            leftFlywheelMotor.set(ControlMode.Velocity, flywheelRPMToIntegratedSensorUnits(rpm), DemandType.ArbitraryFeedForward, FeedForwardInterpolatingTable.get((rpm-50.0)/FLYWHEEL_GEARING));
-            SmartDashboard.putNumber("Flywheel FF", FeedForwardInterpolatingTable.get((rpm-50.0)/FLYWHEEL_GEARING));
+            flywheel.set(ControlMode.Velocity, flywheelRPMToIntegratedSensorUnits(rpm), DemandType.ArbitraryFeedForward, FeedForwardInterpolatingTable.get((rpm-50.0)/FLYWHEEL_GEARING));
+            flywheelFFTelemetry.set(FeedForwardInterpolatingTable.get((rpm-50.0)/FLYWHEEL_GEARING));
         }
     }
 
@@ -222,6 +248,7 @@ public class Shooter extends SubsystemBase {
     // Handle statemachine in periodic
     @Override
     public void periodic() {
+        LoopProfiler.start(profilerSection);
         ShooterState nextSystemState = systemState;
         if (systemState == ShooterState.HOMING) {
             // Outputs
@@ -250,11 +277,7 @@ public class Shooter extends SubsystemBase {
             commandHoodPosition(hoodSetpoint);
             commandFlywheelVelocity(flywheelSetpoint);
 
-            try {
-                flywheelLogger.write(RobotController.getFPGATime(), getFlywheelVelocity(), getFlywheelSetpoint());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            logFlywheel();
             
             // State transitions 
             if (requestHome) {
@@ -271,11 +294,7 @@ public class Shooter extends SubsystemBase {
             commandHoodPosition(hoodSetpoint);
             commandFlywheelVelocity(flywheelSetpoint);
 
-            try {
-                flywheelLogger.write(RobotController.getFPGATime(), getFlywheelVelocity(), getFlywheelSetpoint());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            logFlywheel();
 
             // State transitions
             if (requestHome) {
@@ -292,11 +311,7 @@ public class Shooter extends SubsystemBase {
             commandHoodPosition(hoodSetpoint);
             commandFlywheelVelocity(flywheelSetpoint);
 
-            try {
-                flywheelLogger.write(RobotController.getFPGATime(), getFlywheelVelocity(), getFlywheelSetpoint());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            logFlywheel();
 
             // State transitions
             if (requestHome) {
@@ -308,15 +323,31 @@ public class Shooter extends SubsystemBase {
             }
         }
         systemState = nextSystemState;
-        SmartDashboard.putString("Shooter State", systemState.name());
-        SmartDashboard.putNumber("Flywheel Velocity", getFlywheelVelocity());
-        SmartDashboard.putNumber("Flywheel Setpoint", flywheelSetpoint);
-        SmartDashboard.putNumber("Hood Angle", getHoodPosition());
-        SmartDashboard.putNumber("Flywheel Motor Output", leftFlywheelMotor.getMotorOutputPercent());
-        SmartDashboard.putBoolean("Hood AtSetpoint", hoodAtSetpoint());
-        SmartDashboard.putBoolean("FlywheelAtSetpoint", flywheelAtSetpoint());
-        SmartDashboard.putBoolean("Hood Limit Switch Triggered", getHoodLimitSwitchTriggered());
-        flywheelCalibration = SmartDashboard.getNumber("Flywheel Calibration", FLYWHEEL_CALIBRATION);
+        FlightRecorder.set(recorderState, systemState.ordinal());
+        FlightRecorder.set(recorderFlywheelVelocity, getFlywheelVelocity());
+        FlightRecorder.set(recorderFlywheelSetpoint, flywheelSetpoint);
+        FlightRecorder.set(recorderHoodAngle, getHoodPosition());
+        stateTelemetry.set(systemState.name());
+        flywheelVelocityTelemetry.set(getFlywheelVelocity());
+        flywheelSetpointTelemetry.set(flywheelSetpoint);
+        hoodAngleTelemetry.set(getHoodPosition());
+        flywheelOutputTelemetry.set(leftFlywheelMotor.getMotorOutputPercent());
+        hoodAtSetpointTelemetry.set(hoodAtSetpoint());
+        flywheelAtSetpointTelemetry.set(flywheelAtSetpoint());
+        hoodLimitSwitchTelemetry.set(getHoodLimitSwitchTriggered());
+        flywheelLogDroppedTelemetry.set(flywheelLog.getDroppedRecords());
+        flywheelLogQueueDepthTelemetry.set(flywheelLog.getQueueDepth());
+        flywheelCalibration = flywheelCalibrationTelemetry.get(FLYWHEEL_CALIBRATION);
+        LoopProfiler.stop(profilerSection);
+    }
+
+    // Logs the flywheel velocity and setpoint to the binary flywheel channel
+    private void logFlywheel() {
+        flywheelLog.begin()
+            .putLong(RobotController.getFPGATime())
+            .putDouble(getFlywheelVelocity())
+            .putDouble(getFlywheelSetpoint())
+            .commit();
     }
 
     // Method to be called when you begin homing
@@ -6,27 +6,34 @@ import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
 import com.ctre.phoenix.motorcontrol.StatorCurrentLimitConfiguration;
 import com.ctre.phoenix.motorcontrol.StatusFrame;
-import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
 import com.ctre.phoenix.motorcontrol.TalonFXInvertType;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 import com.ctre.phoenix.sensors.AbsoluteSensorRange;
 import com.ctre.phoenix.sensors.CANCoder;
+import com.ctre.phoenix.sensors.CANCoderStatusFrame;
 import com.ctre.phoenix.sensors.SensorInitializationStrategy;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.util.Units;
-import frc.robot.commons.BreadUtil;
+import frc.robot.drivers.CachedTalonFX;
 import frc.robot.drivers.TalonUtil;
 
 import static frc.robot.Constants.Drive.*;
+import static frc.robot.Constants.Drivers.*;
 
 public class MK4iSwerveModule {
 
+    // The odometry thread reads the drive velocity and azimuth angle every cycle, so they are sent at the odometry rate
+    private static final int ODOMETRY_FRAME_PERIOD_MS = (int) Math.round(1000.0 / ODOMETRY_FREQUENCY_HZ);
+
     public final TalonFX steer;
     public final TalonFX drive;
     public final CANCoder azimuth;
-    private double[] kDesiredState = {0, 0};
+    private final CachedTalonFX cachedDrive;
+    private final CachedTalonFX cachedSteer;
+    private final double[] kDesiredState = {0, 0};
+    private MK4iSwerveModuleSim sim = null; // Desktop simulation only; set before the odometry thread starts
 
     public MK4iSwerveModule(int driveID, int steerID, int azimuthID, Rotation2d offset, TalonFXInvertType driveDirection, boolean steerReversed, boolean azimuthReversed, String moduleIdentifier) {
 
@@ -54,7 +61,7 @@ public class MK4iSwerveModule {
         drive.enableVoltageCompensation(true);
         drive.selectProfileSlot(1, 0);
         drive.setStatusFramePeriod(StatusFrame.Status_1_General, 97);
-        drive.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 15);
+        drive.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, ODOMETRY_FRAME_PERIOD_MS);
 
         // Create CAN Coder object
         azimuth = new CANCoder(azimuthID);
@@ -62,6 +69,7 @@ public class MK4iSwerveModule {
         TalonUtil.checkError(azimuth.configSensorDirection(false), "CANCoder Sensor Direction Configuration Failed");
         TalonUtil.checkError(azimuth.configSensorInitializationStrategy(SensorInitializationStrategy.BootToAbsolutePosition), "CANCoder Initialization Strategy Configuration Failed");
         TalonUtil.checkError(azimuth.configAbsoluteSensorRange(AbsoluteSensorRange.Signed_PlusMinus180), "CANCoder Absolute Sensor Range Configuration Failed");
+        TalonUtil.checkError(azimuth.setStatusFramePeriod(CANCoderStatusFrame.SensorData, ODOMETRY_FRAME_PERIOD_MS), "CANCoder Status Frame Configuration Failed");
 
         // Configure the steering motor
         steer = new TalonFX(steerID);
@@ -84,6 +92,9 @@ public class MK4iSwerveModule {
         steer.selectProfileSlot(0, 0);
         steer.setStatusFramePeriod(StatusFrame.Status_1_General, 99);
         steer.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 15);
+
+        cachedDrive = new CachedTalonFX(drive, TALON_VELOCITY_TOLERANCE);
+        cachedSteer = new CachedTalonFX(steer, TALON_POSITION_TOLERANCE);
     }
 
     public void setDriveSlot(int slot) {
@@ -95,13 +106,24 @@ public class MK4iSwerveModule {
     }
 
     public double getVelocity() {
+        if (sim != null) {
+            return sim.getWheelSpeed();
+        }
         return (MODULE_GEARING * drive.getSelectedSensorVelocity() * (600.0/2048.0) * 2.0 * Math.PI * WHEEL_RADIUS) / 60.0;
     }
 
     public double getAngle() {
+        if (sim != null) {
+            return sim.getAngle();
+        }
         return Units.degreesToRadians(azimuth.getPosition());
     }
 
+    // Reads the module's sensors from a simulation model rather than the simulated devices, whose status frames follow the wall clock
+    void setSim(MK4iSwerveModuleSim sim) {
+        this.sim = sim;
+    }
+
     public SwerveModuleState getState() {
         return new SwerveModuleState(getVelocity(), new Rotation2d(getAngle()));
     }
@@ -115,36 +137,51 @@ public class MK4iSwerveModule {
     }
 
     public void setState(SwerveModuleState desiredState) {
-        double[] state = getContinousOutput(
-            SwerveModuleState.optimize(desiredState, new Rotation2d(getAngle()))
-        );
-        kDesiredState = state;
-        drive.set(ControlMode.Velocity, wheelSpeedMetersPerSecondToIntegratedSensorUnits(state[0]));
-        steer.set(TalonFXControlMode.Position, radiansToCANCoderSensorUnits(state[1]));
+        setState(desiredState, getAngle());
+    }
+
+    // Sets the desired state given the current (continuous) azimuth angle in radians, e.g. from a sensor snapshot
+    public void setState(SwerveModuleState desiredState, double currentAngle) {
+        setState(desiredState.speedMetersPerSecond, desiredState.angle.getRadians(), currentAngle);
+    }
+
+    // Allocation free version of setState; the desired speed is in m/s and the angles are in radians
+    // Optimizes like SwerveModuleState.optimize (drive backwards rather than turn more than 90 degrees) before commanding the module
+    public void setState(double speedMetersPerSecond, double angle, double currentAngle) {
+        double optimizedAngle = Math.IEEEremainder(angle, 2.0 * Math.PI);
+        if (Math.abs(Math.IEEEremainder(optimizedAngle - currentAngle, 2.0 * Math.PI)) > Math.PI / 2.0) {
+            speedMetersPerSecond = -speedMetersPerSecond;
+            optimizedAngle = Math.IEEEremainder(optimizedAngle + Math.PI, 2.0 * Math.PI);
+        }
+        kDesiredState[0] = speedMetersPerSecond;
+        kDesiredState[1] = getContinuousAngle(currentAngle, optimizedAngle);
+        cachedDrive.set(ControlMode.Velocity, wheelSpeedMetersPerSecondToIntegratedSensorUnits(kDesiredState[0]));
+        cachedSteer.set(ControlMode.Position, radiansToCANCoderSensorUnits(kDesiredState[1]));
+    }
+
+    // Places the (already optimized) desired angle within half a turn of the current continuous angle so the steer
+    // motor never unwinds; returns {speed, angle}. Static so it can be benchmarked without hardware
+    public static double[] getContinousOutput(double currentAngle, SwerveModuleState desiredState) {
+        return new double[] {
+            desiredState.speedMetersPerSecond,
+            getContinuousAngle(currentAngle, desiredState.angle.getRadians())
+        };
     }
 
-    private double[] getContinousOutput(SwerveModuleState desiredState) {
-        double currentAngle = getAngle();
+    // Allocation free version of getContinousOutput; desiredAngle is in radians within [-pi, pi]
+    public static double getContinuousAngle(double currentAngle, double desiredAngle) {
         double absoluteHeading = currentAngle % (2.0 * Math.PI);
         if (absoluteHeading < 0.0) {
             absoluteHeading += 2.0 * Math.PI;
         }
-        double adjustedDesiredAngle = BreadUtil.getRadians0To2PI(desiredState.angle) + currentAngle - absoluteHeading;
-        if (BreadUtil.getRadians0To2PI(desiredState.angle) - absoluteHeading > Math.PI) {
-            return new double[] {
-                desiredState.speedMetersPerSecond,
-                adjustedDesiredAngle - 2.0 * Math.PI
-            };
-        } else if (BreadUtil.getRadians0To2PI(desiredState.angle) - absoluteHeading < -Math.PI) {
-            return new double[] {
-                desiredState.speedMetersPerSecond,
-                adjustedDesiredAngle + 2.0 * Math.PI
-            };
+        double desiredAngle0To2PI = desiredAngle < 0.0 ? 2.0 * Math.PI + desiredAngle : desiredAngle;
+        double adjustedDesiredAngle = desiredAngle0To2PI + currentAngle - absoluteHeading;
+        if (desiredAngle0To2PI - absoluteHeading > Math.PI) {
+            return adjustedDesiredAngle - 2.0 * Math.PI;
+        } else if (desiredAngle0To2PI - absoluteHeading < -Math.PI) {
+            return adjustedDesiredAngle + 2.0 * Math.PI;
         } else {
-            return new double[] {
-                desiredState.speedMetersPerSecond,
-                adjustedDesiredAngle
-            };
+            return adjustedDesiredAngle;
         }
     }
 
@@ -0,0 +1,96 @@
+package frc.robot.subsystems.swerve;
+
+import com.ctre.phoenix.motorcontrol.TalonFXInvertType;
+import com.ctre.phoenix.motorcontrol.TalonFXSimCollection;
+import com.ctre.phoenix.sensors.CANCoderSimCollection;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import static frc.robot.Constants.Drive.*;
+
+// Physics model of one MK4i module for desktop simulation: the drive and steer Falcons are DC motor models driven by a model of
+// the module's closed loops (drive velocity feedforward plus P, steer position P) tracking the module's desired state, so the
+// module moves only with simulated time and not with the wall clock the simulated CTRE firmware runs on
+// The module reads its velocity and angle from this model; the results are also written back into the TalonFX and CANCoder
+// simulation states (in the motor's frame, Phoenix applies the configured inversions itself) for anything reading the devices
+public class MK4iSwerveModuleSim {
+
+    private static final double FALCON_TICKS_PER_RADIAN = 2048.0 / (2.0 * Math.PI);
+    private static final double CANCODER_TICKS_PER_RADIAN = CANCODER_RESOLUTION / (2.0 * Math.PI);
+    private static final DCMotor FALCON = DCMotor.getFalcon500(1);
+
+    private final MK4iSwerveModule module;
+    private final TalonFXSimCollection driveSim;
+    private final TalonFXSimCollection steerSim;
+    private final CANCoderSimCollection azimuthSim;
+    private final DCMotorSim driveMotor = new DCMotorSim(FALCON, 1.0 / MODULE_GEARING, DRIVE_SIM_INERTIA);
+    private final DCMotorSim steerMotor = new DCMotorSim(FALCON, STEER_GEARING, STEER_SIM_INERTIA);
+    private final double driveSign; // Robot frame wheel speed per motor frame wheel speed
+    private final double steerSign; // CANCoder angle per motor frame module angle
+    private final double azimuthOffset; // CANCoder magnet offset (radians), which the CANCoder adds to its raw position
+
+    // Latest model outputs; written by the main loop and read by the odometry thread
+    private volatile double wheelSpeed = 0.0;
+    private volatile double angle = 0.0;
+
+    // Takes the same azimuth offset and inversions the module was constructed with; the module reads its sensors from this model from now on
+    public MK4iSwerveModuleSim(MK4iSwerveModule module, Rotation2d offset, TalonFXInvertType driveDirection, boolean steerReversed) {
+        this.module = module;
+        driveSign = driveDirection == TalonFXInvertType.Clockwise ? -1.0 : 1.0;
+        steerSign = steerReversed ? -1.0 : 1.0;
+        azimuthOffset = offset.getRadians();
+        driveSim = module.drive.getSimCollection();
+        steerSim = module.steer.getSimCollection();
+        azimuthSim = module.azimuth.getSimCollection();
+        module.setSim(this);
+    }
+
+    // Advances the module by dt seconds
+    public void update(double dt) {
+        double busVoltage = RobotController.getBatteryVoltage();
+        driveSim.setBusVoltage(busVoltage);
+        steerSim.setBusVoltage(busVoltage);
+        azimuthSim.setBusVoltage(busVoltage);
+
+        // The motor controllers only drive while enabled (the wheels coast against the motors' back EMF otherwise)
+        double driveVoltage = 0.0;
+        double steerVoltage = 0.0;
+        if (DriverStation.isEnabled()) {
+            double[] desiredState = module.getDesiredState();
+            double desiredMotorSpeed = desiredState[0] / (WHEEL_RADIUS * MODULE_GEARING);
+            driveVoltage = desiredMotorSpeed / FALCON.KvRadPerSecPerVolt + SIM_DRIVE_KP * (desiredState[0] - getWheelSpeed());
+            steerVoltage = SIM_STEER_KP * (desiredState[1] - getAngle());
+        }
+        driveMotor.setInputVoltage(Math.max(-busVoltage, Math.min(busVoltage, driveVoltage)));
+        steerMotor.setInputVoltage(Math.max(-busVoltage, Math.min(busVoltage, steerVoltage)));
+        driveMotor.update(dt);
+        steerMotor.update(dt);
+        wheelSpeed = driveMotor.getAngularVelocityRadPerSec() * WHEEL_RADIUS;
+        angle = steerMotor.getAngularPositionRad();
+
+        // Motor side sensors (integrated sensor units, per 100 ms for velocity)
+        driveSim.setIntegratedSensorRawPosition((int) (driveSign * driveMotor.getAngularPositionRad() / MODULE_GEARING * FALCON_TICKS_PER_RADIAN));
+        driveSim.setIntegratedSensorVelocity((int) (driveSign * driveMotor.getAngularVelocityRadPerSec() / MODULE_GEARING * FALCON_TICKS_PER_RADIAN / 10.0));
+        steerSim.setIntegratedSensorRawPosition((int) (steerSign * steerMotor.getAngularPositionRad() * STEER_GEARING * FALCON_TICKS_PER_RADIAN));
+        steerSim.setIntegratedSensorVelocity((int) (steerSign * steerMotor.getAngularVelocityRadPerSec() * STEER_GEARING * FALCON_TICKS_PER_RADIAN / 10.0));
+
+        // The CANCoder sits on the module's steering axis (sensor units, per 100 ms for velocity); its raw position is the
+        // module angle before the magnet offset, so that the offset CANCoder reading matches the module angle
+        azimuthSim.setRawPosition((int) Math.round((angle - azimuthOffset) * CANCODER_TICKS_PER_RADIAN));
+        azimuthSim.setVelocity((int) (steerMotor.getAngularVelocityRadPerSec() * CANCODER_TICKS_PER_RADIAN / 10.0));
+    }
+
+    // Returns the simulated wheel speed in m/s (positive drives the module forward along its angle)
+    public double getWheelSpeed() {
+        return wheelSpeed;
+    }
+
+    // Returns the simulated (continuous) module angle in radians, counterclockwise positive as the CANCoder reads it
+    public double getAngle() {
+        return angle;
+    }
+
+}
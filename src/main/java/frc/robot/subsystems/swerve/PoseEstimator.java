@@ -0,0 +1,110 @@
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.commons.BreadTelemetry;
+import frc.robot.commons.BreadUtil;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.subsystems.vision.RobotPositionHistory;
+import frc.robot.subsystems.vision.Vision;
+import static frc.robot.Constants.Drive.*;
+import static frc.robot.Constants.Vision.*;
+
+// Corrects the swerve match pose with latency compensated Limelight measurements of the hub
+// For every new measurement the odometry is rewound to the capture time (RobotPositionHistory), the field position the camera
+// saw is computed from the heading at that time (from the timestamped gyro samples), and the difference is blended into the correction with a gain set by the
+// trust constants; because the correction is a field relative shift of the odometry, applying it to the current odometry pose
+// is the same as replaying the odometry recorded since the capture on top of the corrected capture pose
+// The heading is left to the gyro (one bearing and distance to the hub cannot separate heading from position)
+public class PoseEstimator extends SubsystemBase {
+
+    private final Swerve swerve;
+    private final Vision vision;
+    private final double[] historicalOdometry = new double[3];
+    private double lastMeasurementTimestamp = Double.NaN;
+    private int acceptedMeasurements = 0;
+    private int rejectedMeasurements = 0;
+
+    // Flight recorder channels
+    private final int recorderCorrectionX = FlightRecorder.register("Pose Correction X");
+    private final int recorderCorrectionY = FlightRecorder.register("Pose Correction Y");
+
+    // Telemetry
+    private final BreadTelemetry.NumberEntry innovationTelemetry = BreadTelemetry.number("Pose Estimator Innovation", 0.01, 25.0);
+    private final BreadTelemetry.NumberEntry correctionXTelemetry = BreadTelemetry.number("Pose Estimator Correction X", 0.01, 5.0);
+    private final BreadTelemetry.NumberEntry correctionYTelemetry = BreadTelemetry.number("Pose Estimator Correction Y", 0.01, 5.0);
+    private final BreadTelemetry.NumberEntry acceptedTelemetry = BreadTelemetry.number("Pose Estimator Accepted", 0.5, 2.0);
+    private final BreadTelemetry.NumberEntry rejectedTelemetry = BreadTelemetry.number("Pose Estimator Rejected", 0.5, 2.0);
+    private final int profilerSection = LoopProfiler.register("PoseEstimator");
+
+    // Constructs the pose estimator; must be constructed after the swerve so that it runs after the odometry update each loop
+    public PoseEstimator(Swerve swerve, Vision vision) {
+        this.swerve = swerve;
+        this.vision = vision;
+    }
+
+    // Blends a vision measurement of the robot's field position (meters) taken at the given FPGA timestamp into the match pose
+    // distanceToTarget (meters) sets how much the measurement is trusted; returns whether the measurement was used
+    public boolean addVisionMeasurement(double visionX, double visionY, double timestamp, double distanceToTarget) {
+        if (!POSE_ESTIMATOR_ENABLED || timestamp <= swerve.getLastResetTimestamp() || BreadUtil.getFPGATimeSeconds() - timestamp > POSE_ESTIMATOR_MAX_LATENCY_SECONDS) {
+            return false;
+        }
+        if (!RobotPositionHistory.get(timestamp, historicalOdometry)) {
+            return false;
+        }
+
+        // Where the corrected pose says the robot was when the image was taken
+        double estimatedX = historicalOdometry[RobotPositionHistory.X] + swerve.getPoseCorrectionX();
+        double estimatedY = historicalOdometry[RobotPositionHistory.Y] + swerve.getPoseCorrectionY();
+        double innovationX = visionX - estimatedX;
+        double innovationY = visionY - estimatedY;
+        double innovation = Math.hypot(innovationX, innovationY);
+        innovationTelemetry.set(innovation);
+        if (innovation > POSE_ESTIMATOR_MAX_INNOVATION) {
+            rejectedMeasurements++;
+            return false;
+        }
+
+        // Steady state Kalman gain for the odometry and (distance dependent) vision standard deviations
+        double stateVariance = POSE_ESTIMATOR_ODOMETRY_STD_DEV * POSE_ESTIMATOR_ODOMETRY_STD_DEV;
+        double visionStdDev = POSE_ESTIMATOR_VISION_STD_DEV_PER_METER * distanceToTarget;
+        double gain = stateVariance / (stateVariance + visionStdDev * visionStdDev);
+        swerve.addPoseCorrection(gain * innovationX, gain * innovationY);
+        acceptedMeasurements++;
+        return true;
+    }
+
+    // Converts the latest Limelight measurement to a field position and blends it in (once per measurement)
+    private void updateFromVision() {
+        double timestamp = vision.getMeasurementTimestamp();
+        if (timestamp == lastMeasurementTimestamp || !RobotPositionHistory.get(timestamp, historicalOdometry)) {
+            return;
+        }
+        lastMeasurementTimestamp = timestamp;
+
+        // The hub is at the measured bearing (robot relative) and distance from the camera, which sits CAMERA_TO_CENTER ahead of the robot's center
+        double distance = vision.getCameraToCenterOfHub();
+        double heading = swerve.getHeadingAt(timestamp);
+        if (Double.isNaN(heading)) {
+            heading = historicalOdometry[RobotPositionHistory.THETA];
+        }
+        double bearing = heading + Math.toRadians(vision.getYaw());
+        double cameraX = FIELD_TO_TARGET.getX() - distance * Math.cos(bearing);
+        double cameraY = FIELD_TO_TARGET.getY() - distance * Math.sin(bearing);
+        addVisionMeasurement(cameraX - CAMERA_TO_CENTER * Math.cos(heading), cameraY - CAMERA_TO_CENTER * Math.sin(heading), timestamp, distance);
+    }
+
+    @Override
+    public void periodic() {
+        LoopProfiler.start(profilerSection);
+        updateFromVision();
+        FlightRecorder.set(recorderCorrectionX, swerve.getPoseCorrectionX());
+        FlightRecorder.set(recorderCorrectionY, swerve.getPoseCorrectionY());
+        correctionXTelemetry.set(swerve.getPoseCorrectionX());
+        correctionYTelemetry.set(swerve.getPoseCorrectionY());
+        acceptedTelemetry.set(acceptedMeasurements);
+        rejectedTelemetry.set(rejectedMeasurements);
+        LoopProfiler.stop(profilerSection);
+    }
+
+}
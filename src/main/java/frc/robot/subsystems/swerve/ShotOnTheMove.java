@@ -0,0 +1,61 @@
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.interpolation.BallFlightTimeInterpolatingTable;
+import frc.robot.interpolation.RadialShotInterpolatingTable;
+import static frc.robot.Constants.Drive.*;
+
+// Shot-on-the-move math used by the VisionFollowerController; kept free of hardware so it can be benchmarked
+// All poses are target relative (the center of the hub is the origin)
+public class ShotOnTheMove {
+
+    // Private constructor so that the class cannot be instantiated
+    private ShotOnTheMove() {}
+
+    // Result of the shot calculation
+    public static class Solution {
+        public double feedForward; // Angular velocity (rad/s) that keeps the robot pointed at the target while it moves
+        public double aimAngle; // Heading (rad) that points the robot at the shot aim position
+        public double aimDistance; // Distance (m) from the robot to the shot aim position, used for the shot lookup
+    }
+
+    // Moves a vision pose estimate forward by how far odometry says the robot moved since the image was taken
+    public static Pose2d compensateLatency(Pose2d visionPoseEstimate, Pose2d currentAbsolutePose, Pose2d absolutePoseAtVisionTimestamp) {
+        Transform2d changeInPose = currentAbsolutePose.minus(absolutePoseAtVisionTimestamp);
+        changeInPose = new Transform2d(
+            changeInPose.getTranslation().rotateBy(visionPoseEstimate.getRotation().minus(currentAbsolutePose.getRotation())),
+            changeInPose.getRotation()
+        );
+        return visionPoseEstimate.transformBy(changeInPose);
+    }
+
+    // Calculates where to aim and how fast to turn given the target relative pose and the ROBOT RELATIVE velocity
+    public static Solution calculate(Pose2d adjustedPoseEstimate, Translation2d robotRelativeVelocity, Solution out) {
+
+        // Calculate the feed forward
+        Translation2d fieldRelativeVelocity = robotRelativeVelocity.rotateBy(adjustedPoseEstimate.getRotation());
+        Rotation2d robotToGoalAngle = new Rotation2d(adjustedPoseEstimate.getX(), adjustedPoseEstimate.getY()).rotateBy(Rotation2d.fromDegrees(180.0));
+        Translation2d targetRelativeVelocity = fieldRelativeVelocity.rotateBy(robotToGoalAngle.times(-1));
+        double radialSpeed = targetRelativeVelocity.getX();
+        double tangentialSpeed = targetRelativeVelocity.getY();
+        double distanceToCenterOfHub = adjustedPoseEstimate.getTranslation().getNorm();
+        out.feedForward = -1 * tangentialSpeed / distanceToCenterOfHub;
+
+        // Construct the shot aim position (in the target relative frame, then rotate it back to the field)
+        // The radial lead comes from the 2D table, the tangential lead from the ball flight time
+        double ballFlightTime = BallFlightTimeInterpolatingTable.get(distanceToCenterOfHub);
+        double radialLead = RadialShotInterpolatingTable.get(distanceToCenterOfHub, radialSpeed);
+        double tangentialLead = tangentialSpeed * ballFlightTime * TANGENTIAL_SHOT_SCALAR;
+        Translation2d shotAimPosition = new Translation2d(-radialLead, -tangentialLead).rotateBy(robotToGoalAngle);
+
+        // Get robot to adjusted target position
+        Translation2d robotToShotAimPosition = shotAimPosition.minus(adjustedPoseEstimate.getTranslation());
+        out.aimAngle = new Rotation2d(robotToShotAimPosition.getX(), robotToShotAimPosition.getY()).getRadians();
+        out.aimDistance = robotToShotAimPosition.getNorm();
+        return out;
+    }
+
+}
@@ -1,16 +1,23 @@
 package frc.robot.subsystems.swerve;
 
+import java.lang.invoke.VarHandle;
+
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
-import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
-import edu.wpi.first.math.kinematics.SwerveDriveOdometry;
-import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.SPI;
+import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.commons.BreadTelemetry;
 import frc.robot.commons.BreadUtil;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
+import frc.robot.sensors.TimestampedGyro;
 import frc.robot.subsystems.vision.RobotPositionHistory;
 
 import static frc.robot.Constants.Drive.*;
@@ -21,26 +28,92 @@ public class Swerve extends SubsystemBase {
 
     public double defaultDriveSpeed = 3.0;
 
-    // Gyro
-    private final AHRS gyro = new AHRS(SPI.Port.kMXP);
+    // Gyro (read through the timestamped sample buffer fed by the navX's data callback)
+    private final AHRS gyro = new AHRS(SPI.Port.kMXP, NAVX_UPDATE_RATE_HZ);
+    private final TimestampedGyro timestampedGyro = new TimestampedGyro(gyro);
 
     // Modules
     private final MK4iSwerveModule fl = new MK4iSwerveModule(DRIVE_IDS[0], STEER_IDS[0], AZIMUTH_CHANNELS[0], AZIMUTH_OFFSETS[0], DRIVE_INVERT_TYPES[0], STEERS_ARE_REVERSED[0], AZIMUTHS_ARE_REVERSED[0], "FL");
     private final MK4iSwerveModule fr = new MK4iSwerveModule(DRIVE_IDS[1], STEER_IDS[1], AZIMUTH_CHANNELS[1], AZIMUTH_OFFSETS[1], DRIVE_INVERT_TYPES[1], STEERS_ARE_REVERSED[1], AZIMUTHS_ARE_REVERSED[1], "FR");
     private final MK4iSwerveModule bl = new MK4iSwerveModule(DRIVE_IDS[2], STEER_IDS[2], AZIMUTH_CHANNELS[2], AZIMUTH_OFFSETS[2], DRIVE_INVERT_TYPES[2], STEERS_ARE_REVERSED[2], AZIMUTHS_ARE_REVERSED[2], "BL");
     private final MK4iSwerveModule br = new MK4iSwerveModule(DRIVE_IDS[3], STEER_IDS[3], AZIMUTH_CHANNELS[3], AZIMUTH_OFFSETS[3], DRIVE_INVERT_TYPES[3], STEERS_ARE_REVERSED[3], AZIMUTHS_ARE_REVERSED[3], "BR");
+    private final MK4iSwerveModule[] modules = {fl, fr, bl, br};
+
+    // Module sensor snapshots; the odometry thread reads every module once per cycle into odometrySnapshot and the main loop
+    // copies it into loopSnapshot once per loop, which every main loop consumer (velocity, module control, logging) reads
+    private final SwerveSensorSnapshot odometrySnapshot = new SwerveSensorSnapshot();
+    private final SwerveSensorSnapshot loopSnapshot = new SwerveSensorSnapshot();
+    private final double[] velocity = new double[3]; // Robot relative chassis speeds from this loop's snapshot (SwerveKinematics indices)
+    private Translation2d velocityTranslation = new Translation2d(); // Built from velocity on request, when it changed
+    private volatile long sensorReads = 0; // Device reads issued (written only by the odometry thread)
+    private long sensorReadsSaved = 0; // Main loop reads served from the snapshot instead of the devices
+    private boolean velocityReadThisLoop = false; // Whether getVelocity() was called since the last snapshot
     
     // Kinematics & Odometry
-    private final SwerveDriveKinematics kinematics = new SwerveDriveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
-    private final SwerveDriveOdometry matchOdometry = new SwerveDriveOdometry(kinematics, gyro.getRotation2d());
+    private final SwerveKinematics swerveKinematics = new SwerveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
+    private final double[] desiredSpeeds = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] desiredAngles = new double[SwerveKinematics.MODULE_COUNT]; // Kept between calls so stopped modules hold their heading
+    private final SwerveSetpointGenerator setpointGenerator = new SwerveSetpointGenerator(swerveKinematics, ROBOT_MAX_SPEED, MAX_MODULE_ACCELERATION, MAX_MODULE_STEER_RATE);
+    private double lastSetpointTimestamp = Double.NEGATIVE_INFINITY;
+    private final double[] discretizedSpeeds = new double[3];
+    private volatile double headingOffset = -timestampedGyro.getYawRadians(); // Match heading minus gyro yaw (radians)
+
+    // Odometry thread; samples the gyro and modules at ODOMETRY_FREQUENCY_HZ and integrates the match odometry pose in primitives,
+    // so a cycle allocates nothing; it is the only writer of the pose, which the main loop reads once per loop without blocking it
+    // (a sequence counter that is odd during a write, as in the SwerveSensorSnapshot)
+    private final Notifier odometryNotifier = new Notifier(this::updateOdometry);
+    private final double[] odometrySpeeds = new double[3]; // Robot relative chassis speeds of the current cycle (odometry thread only)
+    private double odometryX = 0.0; // Field relative meters (written by the odometry thread, read under odometrySequence)
+    private double odometryY = 0.0;
+    private double odometryTheta = 0.0; // Gyro yaw plus odometryHeadingOffset, in [-pi, pi]
+    private long appliedResets = 0; // Resets the pose includes
+    private volatile long odometrySequence = 0;
+    private double odometryHeadingOffset = headingOffset; // The odometry thread's copy of headingOffset, taken with each reset
+    private double lastOdometryTimestamp = Double.NaN;
+
+    // Reset requested by reset(), applied by the odometry thread at the start of its next cycle
+    private double resetX = 0.0;
+    private double resetY = 0.0;
+    private double resetTheta = 0.0;
+    private double resetHeadingOffset = 0.0;
+    private volatile long requestedResets = 0;
+    private Pose2d odometryPose = new Pose2d(); // Built from the odometry thread's latest pose once per loop (main loop only)
+
+    // Poses; the match pose is the wheel odometry pose plus the field relative correction applied by the PoseEstimator
+    // It is cached once per loop in periodic() so every command in a loop sees the same pose
+    private Pose2d pose = odometryPose;
+    private double correctionX = 0.0;
+    private double correctionY = 0.0;
+    private double lastResetTimestamp = 0.0;
+
+    // Physics simulation of the drivetrain (desktop simulation only)
+    private final SwerveSim sim;
+    private double lastSimulationTimestamp = Double.NaN;
 
     // Field2d
-    private Pose2d pose = matchOdometry.getPoseMeters();
     public final Field2d field = new Field2d();
 
     // State variables
     private boolean atVisionHeadingSetpoint = false;
 
+    // Flight recorder channels (velocity and angle of FL, FR, BL, BR)
+    private final int[] recorderModuleVelocities = {
+        FlightRecorder.register("FL Velocity"), FlightRecorder.register("FR Velocity"),
+        FlightRecorder.register("BL Velocity"), FlightRecorder.register("BR Velocity")
+    };
+    private final int[] recorderModuleAngles = {
+        FlightRecorder.register("FL Angle"), FlightRecorder.register("FR Angle"),
+        FlightRecorder.register("BL Angle"), FlightRecorder.register("BR Angle")
+    };
+
+    // Telemetry (the field is published once in the constructor and refreshed by SmartDashboard.updateValues())
+    private final BreadTelemetry.NumberEntry rotationTelemetry = BreadTelemetry.number("Robot Rotation", 0.1, 25.0);
+    private final BreadTelemetry.NumberEntry rawGyroTelemetry = BreadTelemetry.number("Get Raw Gyro Angle", 0.1, 25.0);
+    private final BreadTelemetry.NumberEntry sensorReadsTelemetry = BreadTelemetry.number("Swerve Sensor Reads", 1.0, 1.0);
+    private final BreadTelemetry.NumberEntry sensorReadsSavedTelemetry = BreadTelemetry.number("Swerve Sensor Reads Saved", 1.0, 1.0);
+    private final BreadTelemetry.NumberEntry setpointFractionTelemetry = BreadTelemetry.number("Swerve Setpoint Fraction", 0.01, 10.0);
+    private final int profilerSection = LoopProfiler.register("Swerve");
+
     // Constructs a new swerve object
     public Swerve() {
         field.setRobotPose(pose);
@@ -48,6 +121,9 @@ public class Swerve extends SubsystemBase {
         SmartDashboard.putNumber("Traj-X-Error", 0.0);
         SmartDashboard.putNumber("Traj-Y-Error", 0.0);
         SmartDashboard.putNumber("Traj-Theta-Error", 0.0);
+        sim = RobotBase.isSimulation() ? new SwerveSim(modules, AZIMUTH_OFFSETS, DRIVE_INVERT_TYPES, STEERS_ARE_REVERSED, swerveKinematics) : null;
+        odometryNotifier.setName("Odometry");
+        odometryNotifier.startPeriodic(1.0 / ODOMETRY_FREQUENCY_HZ);
     }
 
     // Resets all of the swerve modules to use the absolute readings
@@ -60,22 +136,24 @@ public class Swerve extends SubsystemBase {
 
     // Sets the desired speeds of the swerve drive
     public void setSpeeds(double xMetersPerSecond, double yMetersPerSecond, double thetaRadiansPerSecond) {
-        SwerveModuleState[] states = kinematics.toSwerveModuleStates(ChassisSpeeds.fromFieldRelativeSpeeds(
-            xMetersPerSecond, 
-            yMetersPerSecond, 
-            thetaRadiansPerSecond, 
-            pose.getRotation()
-        ));
-        SwerveDriveKinematics.desaturateWheelSpeeds(states, ROBOT_MAX_SPEED);
-        fl.setState(states[0]);
+        setSpeeds(xMetersPerSecond, yMetersPerSecond, thetaRadiansPerSecond, false);
+    }
+
+    // Sets the desired field relative speeds; discretize compensates for rotating while translating (see setRobotRelativeSpeeds)
+    public void setSpeeds(double xMetersPerSecond, double yMetersPerSecond, double thetaRadiansPerSecond, boolean discretize) {
+        double cos = pose.getRotation().getCos();
+        double sin = pose.getRotation().getSin();
+        setRobotRelativeSpeeds(
+            xMetersPerSecond * cos + yMetersPerSecond * sin,
+            -xMetersPerSecond * sin + yMetersPerSecond * cos,
+            thetaRadiansPerSecond,
+            discretize
+        );
         // SmartDashboard.putNumber("FL Desired Velocity (Before Optimization and Continous Output)", states[0].speedMetersPerSecond);
         // SmartDashboard.putNumber("FL Desired Angle (Before Optimization and Continous Output)", states[0].angle.getDegrees());
         // SmartDashboard.putNumber("FL Desired Velocity (After Optimization and Continous Output)", fl.getReferenceVelocity());
         // SmartDashboard.putNumber("FL Desired Angle (After Optimization and Continous Output", fl.getReferenceAngle());
         // SmartDashboard.putNumber("FL Motor Output Percent", fl.getDriveOutputPercent());
-        fr.setState(states[1]);
-        bl.setState(states[2]);
-        br.setState(states[3]);
     }
 
     // Sets the drive PID slots to use for more agressive/soft feedback control
@@ -93,39 +171,194 @@ public class Swerve extends SubsystemBase {
 
     // Overload to set a robot relative speed
     public void setSpeeds(ChassisSpeeds robotRelativeSpeeds) {
-        SwerveModuleState[] states = kinematics.toSwerveModuleStates(robotRelativeSpeeds);
-        SwerveDriveKinematics.desaturateWheelSpeeds(states, ROBOT_MAX_SPEED);
-        fl.setState(states[0]);
-        fr.setState(states[1]);
-        bl.setState(states[2]);
-        br.setState(states[3]);
+        setRobotRelativeSpeeds(robotRelativeSpeeds.vxMetersPerSecond, robotRelativeSpeeds.vyMetersPerSecond, robotRelativeSpeeds.omegaRadiansPerSecond);
+    }
+
+    // Sets robot relative speeds (m/s and rad/s) without allocating
+    public void setRobotRelativeSpeeds(double vxMetersPerSecond, double vyMetersPerSecond, double omegaRadiansPerSecond) {
+        setRobotRelativeSpeeds(vxMetersPerSecond, vyMetersPerSecond, omegaRadiansPerSecond, false);
     }
 
-    // Resets match odometry
+    // Sets robot relative speeds (m/s and rad/s) without allocating
+    // With discretize set, the speeds are corrected so that holding them for a loop ends the loop at the commanded pose change;
+    // otherwise translating while rotating drifts toward the direction of rotation, because the translation is applied in a frame that turns during the loop
+    // With the setpoint generator enabled the modules are moved toward the request as fast as their acceleration and steering limits allow
+    public void setRobotRelativeSpeeds(double vxMetersPerSecond, double vyMetersPerSecond, double omegaRadiansPerSecond, boolean discretize) {
+        if (discretize) {
+            SwerveKinematics.discretize(vxMetersPerSecond, vyMetersPerSecond, omegaRadiansPerSecond, TimedRobot.kDefaultPeriod, discretizedSpeeds);
+            vxMetersPerSecond = discretizedSpeeds[SwerveKinematics.VX];
+            vyMetersPerSecond = discretizedSpeeds[SwerveKinematics.VY];
+        }
+        if (!SETPOINT_GENERATOR_ENABLED) {
+            swerveKinematics.toModuleStates(vxMetersPerSecond, vyMetersPerSecond, omegaRadiansPerSecond, desiredSpeeds, desiredAngles);
+            SwerveKinematics.desaturateWheelSpeeds(desiredSpeeds, ROBOT_MAX_SPEED);
+            setModuleStates(desiredSpeeds, desiredAngles);
+            return;
+        }
+
+        // Start from the measured module states when the drive was not being commanded (e.g. after being disabled)
+        double timestamp = BreadUtil.getFPGATimeSeconds();
+        double dt = timestamp - lastSetpointTimestamp;
+        lastSetpointTimestamp = timestamp;
+        if (dt > SETPOINT_GENERATOR_TIMEOUT_SECONDS) {
+            setpointGenerator.reset(velocity, loopSnapshot.driveVelocities, loopSnapshot.azimuthAngles);
+            dt = TimedRobot.kDefaultPeriod;
+        }
+        setpointGenerator.generate(vxMetersPerSecond, vyMetersPerSecond, omegaRadiansPerSecond, dt);
+        setModuleStates(setpointGenerator.getModuleSpeeds(), setpointGenerator.getModuleAngles());
+    }
+
+    // Commands each module, using this loop's azimuth snapshot as the current angle (read from the CANCoders before the first snapshot)
+    private void setModuleStates(double[] speeds, double[] angles) {
+        for (int i = 0; i < modules.length; i++) {
+            if (loopSnapshot.timestamp == 0.0) {
+                modules[i].setState(speeds[i], angles[i], modules[i].getAngle());
+            } else {
+                modules[i].setState(speeds[i], angles[i], loopSnapshot.azimuthAngles[i]);
+                sensorReadsSaved++;
+            }
+        }
+    }
+
+    // Resets match odometry (and clears the vision correction); the odometry thread continues from the new pose on its next cycle
     public void reset(Pose2d newPose) {
-        matchOdometry.resetPosition(newPose, gyro.getRotation2d());
-        pose = matchOdometry.getPoseMeters();
+        resetX = newPose.getX();
+        resetY = newPose.getY();
+        resetTheta = newPose.getRotation().getRadians();
+        resetHeadingOffset = resetTheta - timestampedGyro.getYawRadians();
+        headingOffset = resetHeadingOffset;
+        requestedResets = requestedResets + 1;
+        odometryPose = newPose;
+        correctionX = 0.0;
+        correctionY = 0.0;
+        pose = odometryPose;
+        lastResetTimestamp = BreadUtil.getFPGATimeSeconds();
     }
     
-    // Updates match odometry
-    public void updateOdometry() {
-        pose = matchOdometry.update(
-            gyro.getRotation2d(),
-            fl.getState(), 
-            fr.getState(), 
-            bl.getState(),
-            br.getState()
+    // Updates match odometry; runs on the odometry thread, which is the only writer of the RobotPositionHistory
+    // The position history records the uncorrected odometry pose
+    private void updateOdometry() {
+        double timestamp = BreadUtil.getFPGATimeSeconds();
+        odometrySnapshot.beginWrite();
+        for (int i = 0; i < modules.length; i++) {
+            odometrySnapshot.driveVelocities[i] = modules[i].getVelocity();
+            odometrySnapshot.azimuthAngles[i] = modules[i].getAngle();
+        }
+        odometrySnapshot.timestamp = timestamp;
+        odometrySnapshot.endWrite();
+        sensorReads += 2 * modules.length;
+
+        // Same as SwerveDriveOdometry.updateWithTime: the module velocities give the twist's translation and the gyro its rotation
+        swerveKinematics.toChassisSpeeds(odometrySnapshot.driveVelocities, odometrySnapshot.azimuthAngles, odometrySpeeds);
+        double yaw = timestampedGyro.getYawRadians();
+        long resets = requestedResets;
+        odometrySequence = odometrySequence + 1;
+        VarHandle.storeStoreFence();
+        if (resets != appliedResets) {
+            odometryX = resetX;
+            odometryY = resetY;
+            odometryTheta = resetTheta;
+            odometryHeadingOffset = resetHeadingOffset;
+            appliedResets = resets;
+        }
+        double dt = Double.isNaN(lastOdometryTimestamp) ? 0.0 : timestamp - lastOdometryTimestamp;
+        lastOdometryTimestamp = timestamp;
+        double theta = Math.IEEEremainder(yaw + odometryHeadingOffset, 2.0 * Math.PI);
+        integrateOdometry(
+            odometrySpeeds[SwerveKinematics.VX] * dt,
+            odometrySpeeds[SwerveKinematics.VY] * dt,
+            Math.IEEEremainder(theta - odometryTheta, 2.0 * Math.PI)
         );
-        RobotPositionHistory.update(BreadUtil.getFPGATimeSeconds(), pose);
-        field.setRobotPose(pose);
-        SmartDashboard.putData(field);
+        odometryTheta = theta;
+        odometrySequence = odometrySequence + 1;
+        RobotPositionHistory.update(timestamp, odometryX, odometryY, odometryTheta);
+    }
+
+    // Moves the odometry pose along the constant curvature arc of a robot relative twist (Pose2d.exp without the allocations)
+    private void integrateOdometry(double dx, double dy, double dtheta) {
+        double sinThetaOverTheta;
+        double oneMinusCosThetaOverTheta;
+        if (Math.abs(dtheta) < 1.0E-9) {
+            sinThetaOverTheta = 1.0 - dtheta * dtheta / 6.0;
+            oneMinusCosThetaOverTheta = 0.5 * dtheta;
+        } else {
+            sinThetaOverTheta = Math.sin(dtheta) / dtheta;
+            oneMinusCosThetaOverTheta = (1.0 - Math.cos(dtheta)) / dtheta;
+        }
+        double forward = dx * sinThetaOverTheta - dy * oneMinusCosThetaOverTheta;
+        double left = dx * oneMinusCosThetaOverTheta + dy * sinThetaOverTheta;
+        double cos = Math.cos(odometryTheta);
+        double sin = Math.sin(odometryTheta);
+        odometryX += forward * cos - left * sin;
+        odometryY += forward * sin + left * cos;
     }
 
-    // Returns the match pose
+    // Takes the odometry thread's latest pose as this loop's odometry pose, only building a new Pose2d when it changed
+    // Until the odometry thread has applied the last reset, the reset pose is kept
+    private void readOdometryPose() {
+        double x;
+        double y;
+        double theta;
+        long resets;
+        while (true) {
+            long before = odometrySequence;
+            if ((before & 1) == 0) {
+                x = odometryX;
+                y = odometryY;
+                theta = odometryTheta;
+                resets = appliedResets;
+                VarHandle.loadLoadFence();
+                if (odometrySequence == before) {
+                    break;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        if (resets != requestedResets) {
+            return;
+        }
+        if (x != odometryPose.getX() || y != odometryPose.getY() || theta != odometryPose.getRotation().getRadians()) {
+            odometryPose = new Pose2d(x, y, new Rotation2d(theta));
+        }
+    }
+
+    // Returns the match heading (radians) at a past FPGA timestamp from the timestamped gyro samples, NaN if there are none
+    public double getHeadingAt(double timestamp) {
+        return timestampedGyro.getYawRadians(timestamp) + headingOffset;
+    }
+
+    // Returns the match pose (odometry corrected by vision) as of the start of this loop
     public Pose2d getPose() {
         return pose;
     }
 
+    // Returns the uncorrected wheel odometry pose as of the start of this loop; differences between it and the RobotPositionHistory are pure robot motion
+    public Pose2d getOdometryPose() {
+        return odometryPose;
+    }
+
+    // Shifts the match pose by a field relative translation (meters); used by the PoseEstimator
+    public void addPoseCorrection(double dx, double dy) {
+        correctionX += dx;
+        correctionY += dy;
+        pose = applyCorrection(odometryPose);
+    }
+
+    // Returns the field relative X correction (meters) currently applied to the odometry pose
+    public double getPoseCorrectionX() {
+        return correctionX;
+    }
+
+    // Returns the field relative Y correction (meters) currently applied to the odometry pose
+    public double getPoseCorrectionY() {
+        return correctionY;
+    }
+
+    // Returns the FPGA timestamp of the last odometry reset
+    public double getLastResetTimestamp() {
+        return lastResetTimestamp;
+    }
+
     // Sets the neutral mode of the drive motors
     public void setNeutralModes(NeutralMode mode) {
         fl.drive.setNeutralMode(mode);
@@ -144,27 +377,71 @@ public class Swerve extends SubsystemBase {
         return atVisionHeadingSetpoint;
     }
 
-    // Returns the ROBOT RELATIVE speed of the drivetrain
+    // Returns the ROBOT RELATIVE speed of the drivetrain (from this loop's module snapshot)
+    // Only the first call in a loop counts as saved reads; later calls would have been served by any per loop cache
     public Translation2d getVelocity() {
-        ChassisSpeeds speeds = kinematics.toChassisSpeeds(
-            fl.getState(),
-            fr.getState(),
-            bl.getState(),
-            br.getState()
-        );
-        return new Translation2d(
-            speeds.vxMetersPerSecond,
-            speeds.vyMetersPerSecond
-        );
+        if (!velocityReadThisLoop) {
+            velocityReadThisLoop = true;
+            sensorReadsSaved += 2 * modules.length;
+        }
+        if (velocityTranslation.getX() != velocity[SwerveKinematics.VX] || velocityTranslation.getY() != velocity[SwerveKinematics.VY]) {
+            velocityTranslation = new Translation2d(velocity[SwerveKinematics.VX], velocity[SwerveKinematics.VY]);
+        }
+        return velocityTranslation;
     }
 
-    // Periodically updates odometry and posts values to smart dashboard
+    // Returns this loop's snapshot of the module sensors; must not be modified
+    public SwerveSensorSnapshot getSensorSnapshot() {
+        return loopSnapshot;
+    }
+
+    // Returns an odometry pose shifted by the vision correction
+    private Pose2d applyCorrection(Pose2d odometryPose) {
+        if (correctionX == 0.0 && correctionY == 0.0) {
+            return odometryPose;
+        }
+        return new Pose2d(odometryPose.getX() + correctionX, odometryPose.getY() + correctionY, odometryPose.getRotation());
+    }
+
+    // Returns the drivetrain simulation (null on the robot)
+    public SwerveSim getSim() {
+        return sim;
+    }
+
+    // Steps the drivetrain physics by the FPGA time since the last step (the simulated clock may run faster than real time)
+    @Override
+    public void simulationPeriodic() {
+        double timestamp = BreadUtil.getFPGATimeSeconds();
+        double dt = Double.isNaN(lastSimulationTimestamp) ? TimedRobot.kDefaultPeriod : timestamp - lastSimulationTimestamp;
+        lastSimulationTimestamp = timestamp;
+        if (dt > 0.0) {
+            sim.update(dt);
+        }
+        field.getObject("Simulated Robot").setPose(sim.getPose());
+    }
+
+    // Periodically caches the latest odometry pose and posts values to smart dashboard
     @Override
     public void periodic() {
-        SmartDashboard.putNumber("Robot Rotation", pose.getRotation().getDegrees());
-        SmartDashboard.putNumber("Get Raw Gyro Angle", getRawGyro());
-        updateOdometry();
-        SmartDashboard.putData(field);
+        LoopProfiler.start(profilerSection);
+        readOdometryPose();
+        pose = applyCorrection(odometryPose);
+        field.setRobotPose(pose);
+
+        // Take this loop's module snapshot and derive the velocity from it
+        odometrySnapshot.copyTo(loopSnapshot);
+        for (int i = 0; i < modules.length; i++) {
+            FlightRecorder.set(recorderModuleVelocities[i], loopSnapshot.driveVelocities[i]);
+            FlightRecorder.set(recorderModuleAngles[i], loopSnapshot.azimuthAngles[i]);
+        }
+        swerveKinematics.toChassisSpeeds(loopSnapshot.driveVelocities, loopSnapshot.azimuthAngles, velocity);
+        velocityReadThisLoop = false;
+        sensorReadsTelemetry.set(sensorReads);
+        sensorReadsSavedTelemetry.set(sensorReadsSaved);
+        setpointFractionTelemetry.set(setpointGenerator.getLastFraction());
+        rotationTelemetry.set(pose.getRotation().getDegrees());
+        rawGyroTelemetry.set(getRawGyro());
+        LoopProfiler.stop(profilerSection);
     }
     
 }
\ No newline at end of file
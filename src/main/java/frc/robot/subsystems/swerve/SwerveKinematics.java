@@ -0,0 +1,132 @@
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.math.geometry.Translation2d;
+
+// Allocation free swerve kinematics for the fixed four module (FL, FR, BL, BR) drivetrain, computing the same results as the
+// WPILib SwerveDriveKinematics from coefficients precomputed once for the module locations; module speeds (m/s) and
+// angles (radians) live in caller owned primitive arrays and chassis speeds in a double[3] indexed by VX, VY and OMEGA
+public class SwerveKinematics {
+
+    public static final int MODULE_COUNT = SwerveSensorSnapshot.MODULE_COUNT;
+
+    // Indices of the chassis speeds array (robot relative m/s and rad/s)
+    public static final int VX = 0;
+    public static final int VY = 1;
+    public static final int OMEGA = 2;
+
+    private final double[] moduleX = new double[MODULE_COUNT];
+    private final double[] moduleY = new double[MODULE_COUNT];
+
+    // Rows of the least squares (pseudo) inverse of the inverse kinematics matrix, split into the coefficients applied to
+    // each module's x and y velocity components
+    private final double[] vxFromX = new double[MODULE_COUNT];
+    private final double[] vxFromY = new double[MODULE_COUNT];
+    private final double[] vyFromX = new double[MODULE_COUNT];
+    private final double[] vyFromY = new double[MODULE_COUNT];
+    private final double[] omegaFromX = new double[MODULE_COUNT];
+    private final double[] omegaFromY = new double[MODULE_COUNT];
+
+    public SwerveKinematics(Translation2d fl, Translation2d fr, Translation2d bl, Translation2d br) {
+        Translation2d[] locations = {fl, fr, bl, br};
+        double sumX = 0.0;
+        double sumY = 0.0;
+        double sumSquares = 0.0;
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            moduleX[i] = locations[i].getX();
+            moduleY[i] = locations[i].getY();
+            sumX += moduleX[i];
+            sumY += moduleY[i];
+            sumSquares += moduleX[i] * moduleX[i] + moduleY[i] * moduleY[i];
+        }
+
+        // Each module contributes the rows [1, 0, -y] and [0, 1, x]; invert the (symmetric) normal matrix
+        // [[n, 0, -sumY], [0, n, sumX], [-sumY, sumX, sumSquares]] by cofactors
+        double n = MODULE_COUNT;
+        double c00 = n * sumSquares - sumX * sumX;
+        double c01 = -sumX * sumY;
+        double c02 = n * sumY;
+        double c11 = n * sumSquares - sumY * sumY;
+        double c12 = -n * sumX;
+        double c22 = n * n;
+        double determinant = n * c00 - sumY * c02;
+        double[][] inverse = {
+            {c00 / determinant, c01 / determinant, c02 / determinant},
+            {c01 / determinant, c11 / determinant, c12 / determinant},
+            {c02 / determinant, c12 / determinant, c22 / determinant}
+        };
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            vxFromX[i] = inverse[0][0] - inverse[0][2] * moduleY[i];
+            vxFromY[i] = inverse[0][1] + inverse[0][2] * moduleX[i];
+            vyFromX[i] = inverse[1][0] - inverse[1][2] * moduleY[i];
+            vyFromY[i] = inverse[1][1] + inverse[1][2] * moduleX[i];
+            omegaFromX[i] = inverse[2][0] - inverse[2][2] * moduleY[i];
+            omegaFromY[i] = inverse[2][1] + inverse[2][2] * moduleX[i];
+        }
+    }
+
+    // Inverse kinematics; fills each module's speed and angle (in [-pi, pi]) for the robot relative chassis speeds
+    // As in WPILib, a stopped chassis sets every speed to 0 and leaves the angles as they were so the modules hold their heading
+    public void toModuleStates(double vx, double vy, double omega, double[] speeds, double[] angles) {
+        if (vx == 0.0 && vy == 0.0 && omega == 0.0) {
+            for (int i = 0; i < MODULE_COUNT; i++) {
+                speeds[i] = 0.0;
+            }
+            return;
+        }
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            double x = vx - omega * moduleY[i];
+            double y = vy + omega * moduleX[i];
+            speeds[i] = Math.hypot(x, y);
+            angles[i] = speeds[i] > 1.0E-6 ? Math.atan2(y, x) : 0.0;
+        }
+    }
+
+    // Forward kinematics; fills out[VX], out[VY] and out[OMEGA] with the least squares chassis speeds for the module states
+    public void toChassisSpeeds(double[] speeds, double[] angles, double[] out) {
+        double vx = 0.0;
+        double vy = 0.0;
+        double omega = 0.0;
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            double x = speeds[i] * Math.cos(angles[i]);
+            double y = speeds[i] * Math.sin(angles[i]);
+            vx += vxFromX[i] * x + vxFromY[i] * y;
+            vy += vyFromX[i] * x + vyFromY[i] * y;
+            omega += omegaFromX[i] * x + omegaFromY[i] * y;
+        }
+        out[VX] = vx;
+        out[VY] = vy;
+        out[OMEGA] = omega;
+    }
+
+    // Discretizes chassis speeds held for dt seconds; fills out (SwerveKinematics indices) with the constant robot relative speeds
+    // that move the robot along a constant curvature arc to the pose (vx * dt, vy * dt, omega * dt) relative to where it started,
+    // instead of the straight line commands that drift sideways when translating and rotating at once (the Pose2d.log twist divided by dt)
+    public static void discretize(double vx, double vy, double omega, double dt, double[] out) {
+        double dtheta = omega * dt;
+        double halfDtheta = dtheta / 2.0;
+        double cosMinusOne = Math.cos(dtheta) - 1.0;
+        double halfThetaByTanOfHalfDtheta;
+        if (Math.abs(cosMinusOne) < 1.0E-9) {
+            halfThetaByTanOfHalfDtheta = 1.0 - dtheta * dtheta / 12.0;
+        } else {
+            halfThetaByTanOfHalfDtheta = -(halfDtheta * Math.sin(dtheta)) / cosMinusOne;
+        }
+        out[VX] = vx * halfThetaByTanOfHalfDtheta + vy * halfDtheta;
+        out[VY] = vy * halfThetaByTanOfHalfDtheta - vx * halfDtheta;
+        out[OMEGA] = omega;
+    }
+
+    // Scales the module speeds down together so that none exceeds maxSpeed (same as SwerveDriveKinematics.desaturateWheelSpeeds)
+    public static void desaturateWheelSpeeds(double[] speeds, double maxSpeed) {
+        double fastest = 0.0;
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            fastest = Math.max(fastest, Math.abs(speeds[i]));
+        }
+        if (fastest > maxSpeed) {
+            for (int i = 0; i < MODULE_COUNT; i++) {
+                speeds[i] = speeds[i] / fastest * maxSpeed;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package frc.robot.subsystems.swerve;
+
+import java.lang.invoke.VarHandle;
+
+// Preallocated snapshot of every swerve module's sensors (FL, FR, BL, BR), read from the devices once per odometry cycle
+// so that every consumer in a cycle sees the same values without issuing its own CAN reads
+//
+// Concurrency: one thread writes between beginWrite() and endWrite(); other threads take a consistent copy with copyTo()
+// (a sequence counter that is odd during a write, as in the RobotPositionHistory)
+public class SwerveSensorSnapshot {
+
+    public static final int MODULE_COUNT = 4;
+
+    public final double[] driveVelocities = new double[MODULE_COUNT]; // Meters per second
+    public final double[] azimuthAngles = new double[MODULE_COUNT]; // Radians (continuous, as reported by the CANCoder)
+    public double timestamp = 0.0; // FPGA time of the read; 0 until the first read
+
+    private volatile long sequence = 0;
+
+    // Marks the snapshot as being changed
+    public void beginWrite() {
+        sequence = sequence + 1;
+        VarHandle.storeStoreFence();
+    }
+
+    // Publishes the changed snapshot
+    public void endWrite() {
+        sequence = sequence + 1;
+    }
+
+    // Copies a consistent version of this snapshot into out (retrying if it is written meanwhile)
+    public void copyTo(SwerveSensorSnapshot out) {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                System.arraycopy(driveVelocities, 0, out.driveVelocities, 0, MODULE_COUNT);
+                System.arraycopy(azimuthAngles, 0, out.azimuthAngles, 0, MODULE_COUNT);
+                out.timestamp = timestamp;
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+}
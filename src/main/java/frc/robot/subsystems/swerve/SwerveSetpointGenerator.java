@@ -0,0 +1,144 @@
+package frc.robot.subsystems.swerve;
+
+// Turns requested chassis speeds into a setpoint the modules can actually follow this cycle
+// The setpoint moves from the previous one toward the (desaturated) request along a straight line in chassis speed space;
+// the largest fraction of the step is found by bisection such that no module changes its speed by more than
+// maxAcceleration * dt or steers by more than maxSteerRate * dt. Module states are optimized against the previous setpoint
+// (reverse the wheel instead of steering more than 90 degrees), so a direction reversal slows the modules through zero
+// instead of spinning them around, and modules never get asked to snap to a new heading while carrying speed
+//
+// Module speeds are signed (m/s), angles are in radians and chassis speeds are robot relative (SwerveKinematics indices)
+public class SwerveSetpointGenerator {
+
+    private static final int ITERATIONS = 10;
+    private static final double EPSILON = 1.0E-6;
+    private static final double STOPPED_SPEED = 0.05; // Modules slower than this (m/s) may steer freely
+
+    private final SwerveKinematics kinematics;
+    private final double maxSpeed;
+    private final double maxAcceleration;
+    private final double maxSteerRate;
+
+    // Previous setpoint
+    private final double[] setpoint = new double[3];
+    private final double[] moduleSpeeds = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] moduleAngles = new double[SwerveKinematics.MODULE_COUNT];
+
+    // Scratch
+    private final double[] desired = new double[3];
+    private final double[] candidateSpeeds = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] candidateAngles = new double[SwerveKinematics.MODULE_COUNT];
+    private double lastFraction = 1.0;
+
+    public SwerveSetpointGenerator(SwerveKinematics kinematics, double maxSpeed, double maxAcceleration, double maxSteerRate) {
+        this.kinematics = kinematics;
+        this.maxSpeed = maxSpeed;
+        this.maxAcceleration = maxAcceleration;
+        this.maxSteerRate = maxSteerRate;
+    }
+
+    // Restarts from a measured state (robot relative chassis speeds and each module's speed and angle)
+    public void reset(double[] chassisSpeeds, double[] speeds, double[] angles) {
+        System.arraycopy(chassisSpeeds, 0, setpoint, 0, 3);
+        System.arraycopy(speeds, 0, moduleSpeeds, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(angles, 0, moduleAngles, 0, SwerveKinematics.MODULE_COUNT);
+    }
+
+    // Advances the setpoint toward the requested robot relative chassis speeds over dt seconds
+    public void generate(double vx, double vy, double omega, double dt) {
+        // Desaturate the request itself (the kinematics are linear, so every point on the way stays within maxSpeed too)
+        kinematics.toModuleStates(vx, vy, omega, candidateSpeeds, candidateAngles);
+        double fastest = 0.0;
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            fastest = Math.max(fastest, candidateSpeeds[i]);
+        }
+        double scale = fastest > maxSpeed ? maxSpeed / fastest : 1.0;
+        desired[SwerveKinematics.VX] = vx * scale;
+        desired[SwerveKinematics.VY] = vy * scale;
+        desired[SwerveKinematics.OMEGA] = omega * scale;
+
+        // Largest feasible fraction of the step (0 is the previous setpoint, which is always feasible)
+        double fraction = 1.0;
+        if (!isFeasible(1.0, dt)) {
+            double low = 0.0;
+            double high = 1.0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                double mid = 0.5 * (low + high);
+                if (isFeasible(mid, dt)) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            fraction = low;
+            computeModuleStates(fraction);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            setpoint[i] += (desired[i] - setpoint[i]) * fraction;
+        }
+        System.arraycopy(candidateSpeeds, 0, moduleSpeeds, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(candidateAngles, 0, moduleAngles, 0, SwerveKinematics.MODULE_COUNT);
+        lastFraction = fraction;
+    }
+
+    // Returns the setpoint's module speeds (signed m/s); must not be modified
+    public double[] getModuleSpeeds() {
+        return moduleSpeeds;
+    }
+
+    // Returns the setpoint's module angles (radians); must not be modified
+    public double[] getModuleAngles() {
+        return moduleAngles;
+    }
+
+    // Returns the setpoint's robot relative chassis speeds (SwerveKinematics indices); must not be modified
+    public double[] getChassisSpeeds() {
+        return setpoint;
+    }
+
+    // Returns the fraction of the last requested change that was applied (1 when the request was feasible)
+    public double getLastFraction() {
+        return lastFraction;
+    }
+
+    // Returns whether moving the given fraction of the way to the request respects the module limits (leaves its module states in the candidates)
+    private boolean isFeasible(double fraction, double dt) {
+        computeModuleStates(fraction);
+        double maxSpeedChange = maxAcceleration * dt + EPSILON;
+        double maxSteer = maxSteerRate * dt + EPSILON;
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            if (Math.abs(candidateSpeeds[i] - moduleSpeeds[i]) > maxSpeedChange) {
+                return false;
+            }
+            // A (nearly) stopped module can turn in place without scrubbing
+            if (Math.abs(moduleSpeeds[i]) > STOPPED_SPEED && Math.abs(Math.IEEEremainder(candidateAngles[i] - moduleAngles[i], 2.0 * Math.PI)) > maxSteer) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Fills the candidates with the module states for the given fraction of the way to the request, optimized against the previous setpoint
+    private void computeModuleStates(double fraction) {
+        System.arraycopy(moduleAngles, 0, candidateAngles, 0, SwerveKinematics.MODULE_COUNT);
+        kinematics.toModuleStates(
+            setpoint[SwerveKinematics.VX] + (desired[SwerveKinematics.VX] - setpoint[SwerveKinematics.VX]) * fraction,
+            setpoint[SwerveKinematics.VY] + (desired[SwerveKinematics.VY] - setpoint[SwerveKinematics.VY]) * fraction,
+            setpoint[SwerveKinematics.OMEGA] + (desired[SwerveKinematics.OMEGA] - setpoint[SwerveKinematics.OMEGA]) * fraction,
+            candidateSpeeds,
+            candidateAngles
+        );
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            if (candidateSpeeds[i] < EPSILON) {
+                // No direction to point in; hold the previous heading
+                candidateSpeeds[i] = 0.0;
+                candidateAngles[i] = moduleAngles[i];
+            } else if (Math.abs(Math.IEEEremainder(candidateAngles[i] - moduleAngles[i], 2.0 * Math.PI)) > Math.PI / 2.0) {
+                candidateSpeeds[i] = -candidateSpeeds[i];
+                candidateAngles[i] = Math.IEEEremainder(candidateAngles[i] + Math.PI, 2.0 * Math.PI);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package frc.robot.subsystems.swerve;
+
+import com.ctre.phoenix.motorcontrol.TalonFXInvertType;
+
+import edu.wpi.first.hal.SimDouble;
+import edu.wpi.first.hal.simulation.SimDeviceDataJNI.SimDeviceInfo;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.wpilibj.simulation.SimDeviceSim;
+
+// Desktop simulation of the drivetrain: steps each module's physics model, integrates the true robot pose from the simulated
+// module states and writes the resulting heading into the navX's simulated yaw, so the Swerve (odometry thread, gyro buffer,
+// module control) runs unchanged against it
+// Every step uses the given dt rather than the wall clock (the modules model their own closed loops instead of the simulated
+// CTRE firmware), so it can be stepped faster than real time with the same results on any machine
+public class SwerveSim {
+
+    private final MK4iSwerveModuleSim[] moduleSims = new MK4iSwerveModuleSim[SwerveKinematics.MODULE_COUNT];
+    private final SwerveKinematics kinematics;
+    private final SimDouble gyroYaw;
+    private final double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+    private final double[] chassisSpeeds = new double[3];
+    private Pose2d pose = new Pose2d();
+
+    // Takes the modules (FL, FR, BL, BR) and the azimuth offsets and inversions they were constructed with
+    public SwerveSim(MK4iSwerveModule[] modules, Rotation2d[] offsets, TalonFXInvertType[] driveDirections, boolean[] steersReversed, SwerveKinematics kinematics) {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            moduleSims[i] = new MK4iSwerveModuleSim(modules[i], offsets[i], driveDirections[i], steersReversed[i]);
+        }
+        this.kinematics = kinematics;
+
+        // The navX registers its simulated device ("navX-Sensor[<port>]") when constructed
+        SimDeviceInfo[] gyros = SimDeviceSim.enumerateDevices("navX-Sensor");
+        gyroYaw = gyros.length > 0 ? new SimDeviceSim(gyros[0].name).getDouble("Yaw") : null;
+        if (gyroYaw == null) {
+            System.out.println("SwerveSim: no simulated navX found, the gyro will not move");
+        }
+    }
+
+    // Advances the drivetrain by dt seconds
+    public void update(double dt) {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            moduleSims[i].update(dt);
+            speeds[i] = moduleSims[i].getWheelSpeed();
+            angles[i] = moduleSims[i].getAngle();
+        }
+        kinematics.toChassisSpeeds(speeds, angles, chassisSpeeds);
+        pose = pose.exp(new Twist2d(
+            chassisSpeeds[SwerveKinematics.VX] * dt,
+            chassisSpeeds[SwerveKinematics.VY] * dt,
+            chassisSpeeds[SwerveKinematics.OMEGA] * dt
+        ));
+
+        // The navX reports clockwise positive degrees in [-180, 180]
+        if (gyroYaw != null) {
+            gyroYaw.set(-Math.IEEEremainder(pose.getRotation().getDegrees(), 360.0));
+        }
+    }
+
+    // Returns the simulated (true) robot pose, which starts at the origin
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    // Moves the simulated robot to a pose (e.g. the start of an autonomous routine)
+    public void setPose(Pose2d newPose) {
+        pose = newPose;
+    }
+
+}
@@ -9,9 +9,9 @@ import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.commons.BreadHolonomicDriveController;
+import frc.robot.commons.BreadTelemetry;
 
 public class TrajectoryFollowerController extends CommandBase {
 
@@ -20,6 +20,9 @@ public class TrajectoryFollowerController extends CommandBase {
     private final Supplier<Rotation2d> startHeading;
     private final Swerve swerve;
     private final Timer timer = new Timer();
+    private final BreadTelemetry.NumberEntry xErrorTelemetry = BreadTelemetry.number("Traj-X-Error", 0.01, 25.0);
+    private final BreadTelemetry.NumberEntry yErrorTelemetry = BreadTelemetry.number("Traj-Y-Error", 0.01, 25.0);
+    private final BreadTelemetry.NumberEntry thetaErrorTelemetry = BreadTelemetry.number("Traj-Theta-Error", 0.01, 25.0);
     public final BreadHolonomicDriveController autonomusController = new BreadHolonomicDriveController(
         new PIDController(8, 0, 0), 
         new PIDController(8, 0, 0), 
@@ -54,9 +57,9 @@ public class TrajectoryFollowerController extends CommandBase {
         );
         Pose2d poseError = autonomusController.m_poseError;
         Rotation2d rotError = autonomusController.m_rotationError;
-        SmartDashboard.putNumber("Traj-X-Error", Units.metersToInches(poseError.getX()));
-        SmartDashboard.putNumber("Traj-Y-Error", Units.metersToInches(poseError.getY()));
-        SmartDashboard.putNumber("Traj-Theta-Error", rotError.getDegrees());
+        xErrorTelemetry.set(Units.metersToInches(poseError.getX()));
+        yErrorTelemetry.set(Units.metersToInches(poseError.getY()));
+        thetaErrorTelemetry.set(rotError.getDegrees());
     }
 
     @Override
@@ -5,16 +5,13 @@ import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
-import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.util.Units;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.RobotContainer;
-import frc.robot.interpolation.BallFlightTimeInterpolatingTable;
+import frc.robot.commons.BreadTelemetry;
 import frc.robot.interpolation.InterpolatingTable;
-import frc.robot.interpolation.ShotParameter;
 import frc.robot.subsystems.vision.RobotPositionHistory;
 import static frc.robot.Constants.Vision.*;
 import static frc.robot.Constants.Drive.*;
@@ -25,6 +22,12 @@ public class VisionFollowerController extends CommandBase {
     private final PIDController turnPID = new PIDController(
         8, 0, 0
     );
+    private final BreadTelemetry.NumberEntry poseEstimateTelemetry = BreadTelemetry.number("Vision Pose Estimate");
+    private final BreadTelemetry.NumberEntry distanceTelemetry = BreadTelemetry.number("Vision Follower Distance", 0.001, 25.0);
+    private final BreadTelemetry.NumberEntry setpointTelemetry = BreadTelemetry.number("Vision Follower Setpoint", 0.01, 50.0);
+    private final BreadTelemetry.NumberEntry measurementTelemetry = BreadTelemetry.number("Vision Follower Measurement", 0.01, 50.0);
+    private final ShotOnTheMove.Solution shotSolution = new ShotOnTheMove.Solution();
+    private final double[] shot = new double[2];
 
     public VisionFollowerController(Swerve swerve) {
         this.swerve = swerve;
@@ -38,57 +41,34 @@ public class VisionFollowerController extends CommandBase {
 
     @Override
     public void execute() {
-
         // Set the pose estimate to the latest vision measurement
         Pair<Pose2d, Double> timestampedVisionPoseEstimate = getLatestVisonPoseEstimate();
         Pose2d visionPoseEstimate = timestampedVisionPoseEstimate.getFirst();
         double associatedTimestamp = timestampedVisionPoseEstimate.getSecond();
         
         // Calculate pose relative to the target (factoring in wheel speeds)
-        Pose2d currentAbsolutePose = swerve.getPose();
-        SmartDashboard.putNumber("Vision Pose Estimate", associatedTimestamp);
+        Pose2d currentAbsolutePose = swerve.getOdometryPose();
+        poseEstimateTelemetry.set(associatedTimestamp);
         Pose2d absolutePoseAtVisionTimestamp = RobotPositionHistory.get(associatedTimestamp);
-        Transform2d changeInPose = currentAbsolutePose.minus(absolutePoseAtVisionTimestamp);
-        changeInPose = new Transform2d(
-            changeInPose.getTranslation().rotateBy(visionPoseEstimate.getRotation().minus(currentAbsolutePose.getRotation())), 
-            changeInPose.getRotation()
-        );
-        Pose2d adjustedPoseEstimate = visionPoseEstimate.transformBy(changeInPose); 
-
-        // Calculate the feed forward
-        Translation2d fieldRelativeVelocity = swerve.getVelocity().rotateBy(adjustedPoseEstimate.getRotation());
-        Rotation2d robotToGoalAngle = new Rotation2d(adjustedPoseEstimate.getX(), adjustedPoseEstimate.getY()).rotateBy(Rotation2d.fromDegrees(180.0));
-        Translation2d targetRelativeVelocity = fieldRelativeVelocity.rotateBy(robotToGoalAngle.times(-1));
-        double tangentialSpeed = targetRelativeVelocity.getY();
-        double distanceToCenterOfHub = adjustedPoseEstimate.getTranslation().getNorm();
-        double ff = -1 * tangentialSpeed / adjustedPoseEstimate.getTranslation().getNorm();
-
-        // Construct the shot aim position
-        double ballFlightTime = BallFlightTimeInterpolatingTable.get(distanceToCenterOfHub);
-        Translation2d shotAimPosition = fieldRelativeVelocity.rotateBy(Rotation2d.fromDegrees(180.0)).times(ballFlightTime);
-
-        // Apply scalars to shot aim position
-        shotAimPosition = shotAimPosition.rotateBy(robotToGoalAngle.times(-1));
-        shotAimPosition = new Translation2d(shotAimPosition.getX() * RADIAL_SHOT_SCALAR, shotAimPosition.getY() * TANGENTIAL_SHOT_SCALAR);
-        shotAimPosition = shotAimPosition.rotateBy(robotToGoalAngle);
+        Pose2d adjustedPoseEstimate = ShotOnTheMove.compensateLatency(visionPoseEstimate, currentAbsolutePose, absolutePoseAtVisionTimestamp);
 
-        // Get robot to adjusted target position
-        Translation2d robotToShotAimPosition = shotAimPosition.minus(adjustedPoseEstimate.getTranslation());
-        Rotation2d robotToShotAimPointAngle = new Rotation2d(robotToShotAimPosition.getX(), robotToShotAimPosition.getY());
-        double robotToAdjustedTargetDistance = robotToShotAimPosition.getNorm();
+        // Calculate the feed forward and the shot aim position (factoring in the robot's velocity)
+        ShotOnTheMove.calculate(adjustedPoseEstimate, swerve.getVelocity(), shotSolution);
+        double ff = shotSolution.feedForward;
+        double robotToAdjustedTargetDistance = shotSolution.aimDistance;
 
         // Calculate (and apply) the shot parameter
-        ShotParameter shot = InterpolatingTable.get(robotToAdjustedTargetDistance);
-        RobotContainer.shooter.requestShoot(shot.flywheelRPM, shot.hoodAngleRadians);
+        InterpolatingTable.get(robotToAdjustedTargetDistance, shot);
+        RobotContainer.shooter.requestShoot(shot[InterpolatingTable.FLYWHEEL_RPM], shot[InterpolatingTable.HOOD_ANGLE]);
 
         // Calculate the pid 
         double measurement = adjustedPoseEstimate.getRotation().getRadians();
-        double setpoint = robotToShotAimPointAngle.getRadians();
+        double setpoint = shotSolution.aimAngle;
         double pid = turnPID.calculate(measurement, setpoint);
         double clampAdd = 2 + Math.abs(setpoint - measurement) * (2/Math.PI);
         pid = MathUtil.clamp(pid, -clampAdd, clampAdd);
 
-        SmartDashboard.putNumber("Vision Follower Distance", robotToAdjustedTargetDistance);
+        distanceTelemetry.set(robotToAdjustedTargetDistance);
 
         // Handles x and y translation (manually controlled)
         double x = RobotContainer.driver.getRightY();
@@ -96,8 +76,8 @@ public class VisionFollowerController extends CommandBase {
         double dx = Math.abs(x) > 0.05 ? Math.pow(-x, 1) : 0.0;
         double dy = Math.abs(y) > 0.05 ? Math.pow(-y, 1) : 0.0;
 
-        // Sets the speeds of the swerve drive 
-        swerve.setSpeeds(dx, dy, ff + pid);
+        // Sets the speeds of the swerve drive (discretized, since it translates while turning to the target)
+        swerve.setSpeeds(dx, dy, ff + pid, true);
 
         if (turnPID.atSetpoint()) {
             swerve.setAtVisionHeadingSetpoint(true);
@@ -105,8 +85,8 @@ public class VisionFollowerController extends CommandBase {
             swerve.setAtVisionHeadingSetpoint(false);
         }
 
-        SmartDashboard.putNumber("Vision Follower Setpoint", Units.radiansToDegrees(setpoint));
-        SmartDashboard.putNumber("Vision Follower Measurement", Units.radiansToDegrees(measurement));
+        setpointTelemetry.set(Units.radiansToDegrees(setpoint));
+        measurementTelemetry.set(Units.radiansToDegrees(measurement));
     }
 
     @Override
@@ -1,35 +1,169 @@
 package frc.robot.subsystems.vision;
 
-import java.util.TreeMap;
-import java.util.Map.Entry;
+import java.lang.invoke.VarHandle;
+
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import static frc.robot.Constants.Vision.*;
 
+// Timestamped history of the robot's field pose, used to look up where the robot was when a vision image was taken
+// Stored in a preallocated ring of parallel primitive arrays (time, x, y, theta) holding the latest POSITION_HISTORY_CAPACITY (rounded up to a power of two) samples;
+// lookups binary search the ring and interpolate between the two samples around the requested time
+//
+// Concurrency: there must be a single writer (update and clear are only called from one thread at a time, e.g. odometry);
+// any number of threads may read concurrently. Readers never block the writer: a sequence counter (seqlock) is odd while a
+// write is in progress and readers retry if it changed while they were reading, so they always see a consistent set of samples
 public class RobotPositionHistory {
 
-    private static TreeMap<Double, Pose2d> timeInterpolatingTreeMap = new TreeMap<Double, Pose2d>();
+    // Indices of the array filled by get(timestamp, out)
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int THETA = 2;
+
+    private static final int capacity = Integer.highestOneBit(Math.max(2, POSITION_HISTORY_CAPACITY) - 1) << 1;
+    private static final int mask = capacity - 1;
+    private static final double[] times = new double[capacity];
+    private static final double[] xs = new double[capacity];
+    private static final double[] ys = new double[capacity];
+    private static final double[] thetas = new double[capacity];
+
+    // Written only by the writer inside a write section
+    private static int head = 0; // Index the next sample is written to
+    private static int count = 0;
 
+    // Even while the samples are stable, odd while the writer is changing them
+    private static volatile long sequence = 0;
+
+    // Private constructor so that the class cannot be instantiated
+    private RobotPositionHistory() {}
+
+    // Records the pose at a timestamp; timestamps must increase (an equal timestamp replaces the latest sample, an older one is ignored)
     public static void update(double timestamp, Pose2d pose) {
-        timeInterpolatingTreeMap.put(timestamp, pose);
+        update(timestamp, pose.getX(), pose.getY(), pose.getRotation().getRadians());
+    }
 
-        if (timeInterpolatingTreeMap.size() > 50.0 * 20) {
-            timeInterpolatingTreeMap.pollFirstEntry();
+    // Allocation free version of update(timestamp, pose); theta is in radians
+    public static void update(double timestamp, double x, double y, double theta) {
+        int index = head;
+        if (count > 0) {
+            int latest = (head - 1) & mask;
+            if (timestamp < times[latest]) {
+                return;
+            }
+            if (timestamp == times[latest]) {
+                index = latest;
+            }
         }
+
+        beginWrite();
+        times[index] = timestamp;
+        xs[index] = x;
+        ys[index] = y;
+        thetas[index] = theta;
+        if (index == head) {
+            head = (head + 1) & mask;
+            count = Math.min(count + 1, capacity);
+        }
+        endWrite();
     }
 
+    // Returns the (interpolated) pose at a timestamp, clamped to the oldest/latest sample; the origin if the history is empty
     public static Pose2d get(double timestamp) {
-        Entry<Double, Pose2d> ceil = timeInterpolatingTreeMap.ceilingEntry(timestamp);
-        Entry<Double, Pose2d> floor = timeInterpolatingTreeMap.floorEntry(timestamp);
-        if (ceil == null) return floor.getValue();
-        if (floor == null) return ceil.getValue();
-        if (ceil.getValue().equals(floor.getValue())) return ceil.getValue();
-        return floor.getValue().interpolate(
-            ceil.getValue(), 
-            (timestamp - floor.getKey()) / (ceil.getKey() - floor.getKey())
-        );
+        double[] out = new double[3];
+        if (!get(timestamp, out)) {
+            return new Pose2d();
+        }
+        return new Pose2d(out[X], out[Y], new Rotation2d(out[THETA]));
+    }
+
+    // Allocation free lookup; fills out[X], out[Y] and out[THETA] (radians) and returns false (leaving out untouched) if the history is empty
+    public static boolean get(double timestamp, double[] out) {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int n = count;
+                int oldest = (head - n) & mask;
+                double x = 0.0;
+                double y = 0.0;
+                double theta = 0.0;
+                if (n > 0) {
+                    // Find the last sample at or before the timestamp (logical index, 0 is the oldest)
+                    int low = 0;
+                    int high = n - 1;
+                    if (!(timestamp >= times[oldest])) {
+                        high = 0;
+                    }
+                    while (low < high) {
+                        int mid = (low + high + 1) >>> 1;
+                        if (times[(oldest + mid) & mask] <= timestamp) {
+                            low = mid;
+                        } else {
+                            high = mid - 1;
+                        }
+                    }
+                    int floor = (oldest + low) & mask;
+                    int ceil = (oldest + Math.min(low + 1, n - 1)) & mask;
+                    double t = 0.0;
+                    if (times[ceil] > times[floor]) {
+                        t = Math.max(0.0, Math.min(1.0, (timestamp - times[floor]) / (times[ceil] - times[floor])));
+                    }
+                    x = xs[floor] + (xs[ceil] - xs[floor]) * t;
+                    y = ys[floor] + (ys[ceil] - ys[floor]) * t;
+                    theta = thetas[floor] + Math.IEEEremainder(thetas[ceil] - thetas[floor], 2.0 * Math.PI) * t;
+                }
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    if (n == 0) {
+                        return false;
+                    }
+                    out[X] = x;
+                    out[Y] = y;
+                    out[THETA] = theta;
+                    return true;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Returns the timestamp of the latest sample, NaN if the history is empty
+    public static double getLatestTimestamp() {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int n = count;
+                double timestamp = times[(head - 1) & mask];
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return n > 0 ? timestamp : Double.NaN;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Returns the number of samples held
+    public static int size() {
+        return count;
     }
 
+    // Removes every sample; must be called from the writer thread
     public static void clear() {
-        timeInterpolatingTreeMap.clear();
+        beginWrite();
+        head = 0;
+        count = 0;
+        endWrite();
     }
-    
+
+    // Marks the samples as being changed; the fence keeps the sample writes after the odd sequence number
+    private static void beginWrite() {
+        sequence = sequence + 1;
+        VarHandle.storeStoreFence();
+    }
+
+    // Publishes the changed samples
+    private static void endWrite() {
+        sequence = sequence + 1;
+    }
+
 }
@@ -7,9 +7,11 @@ import edu.wpi.first.networktables.EntryListenerFlags;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.RobotController;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.commons.BreadTelemetry;
 import frc.robot.commons.BreadUtil;
+import frc.robot.commons.FlightRecorder;
+import frc.robot.commons.LoopProfiler;
 import static frc.robot.Constants.Vision.*;
 import static frc.robot.Constants.Drive.*;
 
@@ -28,6 +30,23 @@ public class Vision extends SubsystemBase {
     private double mountingAngle = MOUNTING_PITCH;
     private double mountingAdjustment = 0.0;
 
+    // Flight recorder channels
+    private final int recorderYaw = FlightRecorder.register("Vision Yaw");
+    private final int recorderDistance = FlightRecorder.register("Vision Distance");
+    private final int recorderTimestamp = FlightRecorder.register("Vision Timestamp");
+
+    // Telemetry
+    private final BreadTelemetry.NumberEntry pixelOffsetTelemetry = BreadTelemetry.number("Pixel offset");
+    private final BreadTelemetry.NumberEntry centerCrosshairYTelemetry = BreadTelemetry.number("Center Crosshair Y");
+    private final BreadTelemetry.NumberEntry topCrosshairYTelemetry = BreadTelemetry.number("topCrossHairY");
+    private final BreadTelemetry.NumberEntry distanceTelemetry = BreadTelemetry.number("Distance To Center Of Hub");
+    private final BreadTelemetry.NumberEntry centerPitchTelemetry = BreadTelemetry.number("Center Pitch");
+    private final BreadTelemetry.NumberEntry adjustedPitchTelemetry = BreadTelemetry.number("Adjusted Pitch");
+    private final BreadTelemetry.NumberEntry yawTelemetry = BreadTelemetry.number("Yaw");
+    private final BreadTelemetry.NumberEntry timestampTelemetry = BreadTelemetry.number("Vision Timestamp");
+    private final BreadTelemetry.NumberEntry mountingAdjustmentTelemetry = BreadTelemetry.number("F-Mounting-Adjustment");
+    private final int profilerSection = LoopProfiler.register("Vision");
+
     public Vision() {
         limelightTable
             .getEntry("tl")
@@ -44,9 +63,9 @@ public class Vision extends SubsystemBase {
                 double topCrosshairY = centerCrosshairY + pixelOffset;
                 pitch = Units.radiansToDegrees(Math.atan(topCrosshairY/CAMERA_BASIS_PIXELS));
                 distance = setDistance(getCameraToTarget().getNorm());
-                SmartDashboard.putNumber("Pixel offset", pixelOffset);
-                SmartDashboard.putNumber("Center Crosshair Y", centerCrosshairY);
-                SmartDashboard.putNumber("topCrossHairY", topCrosshairY);
+                pixelOffsetTelemetry.set(pixelOffset);
+                centerCrosshairYTelemetry.set(centerCrosshairY);
+                topCrosshairYTelemetry.set(topCrosshairY);
             }, EntryListenerFlags.kUpdate);
     }
     
@@ -119,13 +138,18 @@ public class Vision extends SubsystemBase {
 
     @Override
     public void periodic() {
-        SmartDashboard.putNumber("Distance To Center Of Hub", getCameraToCenterOfHub());
-        SmartDashboard.putNumber("Center Pitch", originalPitch);
-        SmartDashboard.putNumber("Adjusted Pitch", getPitch());
-        SmartDashboard.putNumber("Yaw", getYaw());
-        SmartDashboard.putNumber("Vision Timestamp", getMeasurementTimestamp());
-        mountingAdjustment = Units.degreesToRadians(SmartDashboard.getNumber("F-Mounting-Adjustment", 0.0));
+        LoopProfiler.start(profilerSection);
+        FlightRecorder.set(recorderYaw, getYaw());
+        FlightRecorder.set(recorderDistance, getCameraToCenterOfHub());
+        FlightRecorder.set(recorderTimestamp, getMeasurementTimestamp());
+        distanceTelemetry.set(getCameraToCenterOfHub());
+        centerPitchTelemetry.set(originalPitch);
+        adjustedPitchTelemetry.set(getPitch());
+        yawTelemetry.set(getYaw());
+        timestampTelemetry.set(getMeasurementTimestamp());
+        mountingAdjustment = Units.degreesToRadians(mountingAdjustmentTelemetry.get(0.0));
         mountingAngle = MOUNTING_PITCH + mountingAdjustment;
+        LoopProfiler.stop(profilerSection);
     }
     
 }
@@ -0,0 +1,48 @@
+package frc.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.autonomus.Trajectories;
+import frc.robot.autonomus.routines.OneCargoLeftTarmac;
+
+// Runs a full autonomous period of the simulated robot faster than real time and checks where it ends up
+public class AutonomousSimTest {
+
+    private static final double AUTONOMOUS_SECONDS = 15.0;
+    private static final double MAX_WALL_SECONDS = 1.0; // The harness should simulate a full autonomous in well under a second
+    private static final double END_POSE_TOLERANCE = 0.3; // Meters from the end of the trajectory
+    private static final double ODOMETRY_TOLERANCE = 0.2; // Meters between the odometry and the simulated (true) pose
+
+    @Test
+    public void oneCargoLeftTarmacEndsAtTheEndOfItsTrajectory() {
+        RobotSimHarness harness = new RobotSimHarness();
+
+        // The routine resets the odometry to the start of its trajectory facing -45 degrees; start the simulated robot there too
+        Translation2d start = Trajectories.goBackFromLeftTarmac.sample(0.0).poseMeters.getTranslation();
+        RobotContainer.swerve.getSim().setPose(new Pose2d(start, Rotation2d.fromDegrees(-45.0)));
+
+        harness.setMode(RobotSimHarness.Mode.AUTONOMOUS);
+        harness.step();
+        new OneCargoLeftTarmac(RobotContainer.swerve, RobotContainer.shooter, RobotContainer.leftIntake, RobotContainer.rightIntake, RobotContainer.gutNeck).schedule();
+
+        long startNanos = System.nanoTime();
+        harness.run(AUTONOMOUS_SECONDS);
+        double wallSeconds = (System.nanoTime() - startNanos) / 1.0E9;
+        assertTrue("Simulated " + AUTONOMOUS_SECONDS + " s of autonomous took " + wallSeconds + " s", wallSeconds < MAX_WALL_SECONDS);
+
+        Translation2d end = Trajectories.goBackFromLeftTarmac.sample(Trajectories.goBackFromLeftTarmac.getTotalTimeSeconds()).poseMeters.getTranslation();
+        Pose2d odometryPose = RobotContainer.swerve.getOdometryPose();
+        Pose2d truePose = RobotContainer.swerve.getSim().getPose();
+        assertTrue("Finite pose " + odometryPose, Double.isFinite(odometryPose.getX()) && Double.isFinite(odometryPose.getY()));
+        assertEquals("Distance to the end of the trajectory", 0.0, odometryPose.getTranslation().getDistance(end), END_POSE_TOLERANCE);
+        assertEquals("Odometry error", 0.0, odometryPose.getTranslation().getDistance(truePose.getTranslation()), ODOMETRY_TOLERANCE);
+        assertEquals("Heading error", 0.0, odometryPose.getRotation().minus(truePose.getRotation()).getDegrees(), 5.0);
+    }
+
+}
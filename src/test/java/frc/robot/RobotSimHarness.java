@@ -0,0 +1,180 @@
+package frc.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ctre.phoenix.unmanaged.Unmanaged;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.commons.BreadUtil;
+
+// Steps the full robot (mode periodics, robotPeriodic, simulationPeriodic and every Notifier, e.g. odometry) in desktop
+// simulation as fast as the CPU allows: the HAL simulation clock is paused and advanced by exactly one loop period per step,
+// so FPGA time, and everything derived from it, is deterministic; e.g. a 15 second autonomous runs in 750 steps
+// Driver inputs are injected through InputHooks (called before every step) and the joystick setters
+//
+// Intended for JUnit tests and benchmarks of whole routines:
+//     RobotSimHarness harness = new RobotSimHarness();
+//     harness.setMode(RobotSimHarness.Mode.AUTONOMOUS);
+//     harness.run(15.0);
+//     Pose2d pose = RobotContainer.swerve.getSim().getPose();
+// Only one harness may exist per JVM (the subsystems in RobotContainer are static); fork a JVM per test class
+// The simulated CTRE devices run their firmware on the wall clock, so the swerve modules are simulated from their setpoints
+// (see MK4iSwerveModuleSim) rather than through it; other mechanisms' closed loops are only approximate when stepping much faster than real time
+public class RobotSimHarness {
+
+    public enum Mode {
+        DISABLED,
+        AUTONOMOUS,
+        TELEOP,
+        TEST
+    }
+
+    // Called before every step; modeSeconds is the simulated time since the current mode was entered
+    public interface InputHook {
+        void update(RobotSimHarness harness, double modeSeconds);
+    }
+
+    private static final int JOYSTICK_PORTS = 2; // Driver and operator
+    private static final int JOYSTICK_AXES = 6;
+    private static final int JOYSTICK_BUTTONS = 10;
+    private static final double DRIVER_STATION_TIMEOUT_SECONDS = 1.0; // Wall clock time to wait for the driver station to pick up new data
+
+    private final Robot robot;
+    private final List<InputHook> inputHooks = new ArrayList<>();
+    private final double period = TimedRobot.kDefaultPeriod;
+    private Mode mode = Mode.DISABLED;
+    private double modeStartTimestamp = 0.0;
+    private boolean inputsChanged = false;
+
+    // Pending joystick values, checked against the driver station once it picks them up
+    private final double[][] axes = new double[JOYSTICK_PORTS][JOYSTICK_AXES];
+    private final boolean[][] buttons = new boolean[JOYSTICK_PORTS][JOYSTICK_BUTTONS + 1];
+
+    // Starts the HAL, pauses the simulation clock and constructs and initializes the robot (disabled)
+    public RobotSimHarness() {
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        SimHooks.pauseTiming();
+        DriverStationSim.resetData();
+        for (int port = 0; port < JOYSTICK_PORTS; port++) {
+            DriverStationSim.setJoystickAxisCount(port, JOYSTICK_AXES);
+            DriverStationSim.setJoystickButtonCount(port, JOYSTICK_BUTTONS);
+            DriverStationSim.setJoystickPOVCount(port, 1);
+        }
+        DriverStationSim.setDsAttached(true);
+        setMode(Mode.DISABLED);
+
+        robot = new Robot();
+        robot.robotInit();
+        robot.simulationInit();
+    }
+
+    // Switches the driver station to a mode (enabled unless DISABLED); the robot runs the mode's init on the next step
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        modeStartTimestamp = getTimestamp();
+        DriverStationSim.setEnabled(mode != Mode.DISABLED);
+        DriverStationSim.setAutonomous(mode == Mode.AUTONOMOUS);
+        DriverStationSim.setTest(mode == Mode.TEST);
+        inputsChanged = true;
+        syncDriverStation();
+    }
+
+    // Sets a joystick axis (port 0 is the driver, 1 the operator; see XboxController.Axis), applied from the next step
+    public void setAxis(int port, int axis, double value) {
+        axes[port][axis] = value;
+        DriverStationSim.setJoystickAxis(port, axis, value);
+        inputsChanged = true;
+    }
+
+    // Sets a joystick button (1 based, see XboxController.Button), applied from the next step
+    public void setButton(int port, int button, boolean pressed) {
+        buttons[port][button] = pressed;
+        DriverStationSim.setJoystickButton(port, button, pressed);
+        inputsChanged = true;
+    }
+
+    // Registers a hook that injects driver inputs before every step
+    public void addInputHook(InputHook hook) {
+        inputHooks.add(hook);
+    }
+
+    // Advances the simulation clock by one loop period (running the Notifiers due meanwhile) and runs one robot loop
+    public void step() {
+        double modeSeconds = getTimestamp() - modeStartTimestamp;
+        for (InputHook hook : inputHooks) {
+            hook.update(this, modeSeconds);
+        }
+        syncDriverStation();
+        if (mode != Mode.DISABLED) {
+            Unmanaged.feedEnable(100);
+        }
+        SimHooks.stepTiming(period);
+        robot.loopFunc();
+    }
+
+    // Steps for the given number of simulated seconds
+    public void run(double seconds) {
+        long steps = Math.round(seconds / period);
+        for (long i = 0; i < steps; i++) {
+            step();
+        }
+    }
+
+    // Returns the simulated FPGA time in seconds
+    public double getTimestamp() {
+        return BreadUtil.getFPGATimeSeconds();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Robot getRobot() {
+        return robot;
+    }
+
+    // Publishes changed driver station data and waits (on the wall clock) until the driver station thread has picked it up,
+    // so the next loop deterministically sees it
+    private void syncDriverStation() {
+        if (!inputsChanged) {
+            return;
+        }
+        inputsChanged = false;
+        DriverStationSim.notifyNewData();
+        long deadline = System.nanoTime() + (long) (DRIVER_STATION_TIMEOUT_SECONDS * 1.0E9);
+        while (!driverStationMatches()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The driver station did not pick up the simulated data");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Returns whether the driver station's cached data matches what was set
+    private boolean driverStationMatches() {
+        if (DriverStation.isEnabled() != (mode != Mode.DISABLED) || DriverStation.isAutonomous() != (mode == Mode.AUTONOMOUS) || DriverStation.isTest() != (mode == Mode.TEST)) {
+            return false;
+        }
+        for (int port = 0; port < JOYSTICK_PORTS; port++) {
+            for (int axis = 0; axis < JOYSTICK_AXES; axis++) {
+                if (DriverStation.getStickAxis(port, axis) != (float) axes[port][axis]) {
+                    return false;
+                }
+            }
+            for (int button = 1; button <= JOYSTICK_BUTTONS; button++) {
+                if (DriverStation.getStickButton(port, button) != buttons[port][button]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
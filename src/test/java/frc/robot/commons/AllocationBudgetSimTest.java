@@ -0,0 +1,38 @@
+package frc.robot.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.XboxController;
+import frc.robot.RobotSimHarness;
+import static frc.robot.Constants.Logging.*;
+
+// Runs the simulated robot through a stretch of teleop past the allocation warmup and fails if any loop allocated more than
+// ALLOCATION_BUDGET_BYTES_PER_LOOP (the AllocationProfiler counts those loops)
+public class AllocationBudgetSimTest {
+
+    private static final double TELEOP_SECONDS = 10.0; // 500 loops, twice the warmup
+
+    @Test
+    public void teleopLoopsStayWithinTheAllocationBudget() {
+        RobotSimHarness harness = new RobotSimHarness();
+        assumeTrue("This JVM cannot measure allocations", AllocationProfiler.isEnabled());
+
+        // Drive a circle while turning, and intake for the second half
+        harness.addInputHook((simulation, modeSeconds) -> {
+            simulation.setAxis(0, XboxController.Axis.kLeftX.value, 0.5 * Math.cos(modeSeconds));
+            simulation.setAxis(0, XboxController.Axis.kLeftY.value, 0.5 * Math.sin(modeSeconds));
+            simulation.setAxis(0, XboxController.Axis.kRightX.value, 0.3);
+            simulation.setAxis(0, XboxController.Axis.kLeftTrigger.value, modeSeconds > TELEOP_SECONDS / 2.0 ? 1.0 : 0.0);
+        });
+        harness.setMode(RobotSimHarness.Mode.TELEOP);
+        harness.run(TELEOP_SECONDS);
+
+        assertEquals("Loops over budget", 0, AllocationProfiler.getOverBudgetLoops());
+        assertTrue("Largest loop allocated " + AllocationProfiler.getMaxLoopBytes() + " bytes", AllocationProfiler.getMaxLoopBytes() <= ALLOCATION_BUDGET_BYTES_PER_LOOP);
+    }
+
+}
@@ -0,0 +1,91 @@
+package frc.robot.interpolation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+// Checks the monotone cubic (PCHIP) interpolation directly: it passes through every row, is monotone wherever the rows are,
+// and never leaves the range of the two rows around a key, on unevenly spaced rows with flat runs, steep steps and a peak
+public class PrimitiveInterpolatingTableTest {
+
+    private static final double EPSILON = 1.0E-9;
+    private static final int SAMPLES_PER_ROW = 200;
+
+    private static final double[] KEYS = {1.0, 1.3, 2.0, 2.1, 3.5, 4.0, 6.0, 6.2};
+    private static final double[][] COLUMNS = {
+        {10.0, 11.0, 11.0, 11.0, 30.0, 31.0, 31.5, 40.0}, // Increasing with a flat run and a steep step
+        {5.0, 4.0, 1.0, 0.9, 0.8, 0.1, 0.0, -3.0}, // Decreasing
+        {0.0, 1.0, 4.0, 5.0, 2.0, 2.0, 0.5, 0.0} // Rises to a peak, then falls
+    };
+
+    private final PrimitiveInterpolatingTable table = build();
+
+    @Test
+    public void passesThroughEveryRow() {
+        double[] out = new double[COLUMNS.length];
+        for (int row = 0; row < KEYS.length; row++) {
+            table.get(KEYS[row], out);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                assertEquals("Column " + c + " at row " + row, COLUMNS[c][row], table.get(KEYS[row], c), EPSILON);
+                assertEquals("Column " + c + " at row " + row, COLUMNS[c][row], out[c], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void isMonotoneBetweenMonotoneRows() {
+        for (int c = 0; c < COLUMNS.length; c++) {
+            for (int row = 0; row < KEYS.length - 1; row++) {
+                double direction = Math.signum(COLUMNS[c][row + 1] - COLUMNS[c][row]);
+                double previous = COLUMNS[c][row];
+                for (int sample = 1; sample <= SAMPLES_PER_ROW; sample++) {
+                    double value = table.get(keyBetween(row, sample), c);
+                    assertTrue("Column " + c + " turns back between rows " + row + " and " + (row + 1), (value - previous) * direction >= -EPSILON);
+                    if (direction == 0.0) {
+                        assertEquals("Column " + c + " is not flat between rows " + row + " and " + (row + 1), previous, value, EPSILON);
+                    }
+                    previous = value;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void staysBetweenNeighbouringRows() {
+        for (int c = 0; c < COLUMNS.length; c++) {
+            for (int row = 0; row < KEYS.length - 1; row++) {
+                double low = Math.min(COLUMNS[c][row], COLUMNS[c][row + 1]);
+                double high = Math.max(COLUMNS[c][row], COLUMNS[c][row + 1]);
+                for (int sample = 0; sample <= SAMPLES_PER_ROW; sample++) {
+                    double value = table.get(keyBetween(row, sample), c);
+                    assertTrue("Column " + c + " overshoots to " + value + " between rows " + row + " and " + (row + 1), value >= low - EPSILON && value <= high + EPSILON);
+                }
+            }
+        }
+
+        // Outside the table the first/last row is held
+        for (int c = 0; c < COLUMNS.length; c++) {
+            assertEquals(COLUMNS[c][0], table.get(KEYS[0] - 1.0, c), 0.0);
+            assertEquals(COLUMNS[c][KEYS.length - 1], table.get(KEYS[KEYS.length - 1] + 1.0, c), 0.0);
+        }
+    }
+
+    // Returns the key a sample of SAMPLES_PER_ROW of the way from a row to the next
+    private static double keyBetween(int row, int sample) {
+        return KEYS[row] + (KEYS[row + 1] - KEYS[row]) * sample / SAMPLES_PER_ROW;
+    }
+
+    private static PrimitiveInterpolatingTable build() {
+        PrimitiveInterpolatingTable.Builder builder = new PrimitiveInterpolatingTable.Builder(COLUMNS.length).interpolation(Interpolation.MONOTONE_CUBIC);
+        for (int row = KEYS.length - 1; row >= 0; row--) {
+            double[] values = new double[COLUMNS.length];
+            for (int c = 0; c < COLUMNS.length; c++) {
+                values[c] = COLUMNS[c][row];
+            }
+            builder.add(KEYS[row], values);
+        }
+        return builder.build();
+    }
+
+}
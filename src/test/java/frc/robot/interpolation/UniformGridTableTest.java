@@ -0,0 +1,67 @@
+package frc.robot.interpolation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static frc.robot.Constants.Vision.*;
+
+// Checks that the uniform grid the shot table is resampled onto agrees with the reference table within the tolerances the
+// robot itself enforces at load, for the built-in table and the deployed table with either interpolation
+public class UniformGridTableTest {
+
+    private static final Path DEPLOYED_SHOT_TABLE = Paths.get("src", "main", "deploy").resolve(SHOT_TABLE_FILE);
+    private static final int SAMPLES = 10000;
+
+    private final Random random = new Random(971);
+
+    @Test
+    public void builtInGridMatchesReference() {
+        assertGridMatches(InterpolatingTable.getTable(), InterpolatingTable.getGrid());
+
+        // Lookups through InterpolatingTable use the grid, so they agree with the reference too
+        double[] expected = new double[2];
+        double[] actual = new double[2];
+        PrimitiveInterpolatingTable table = InterpolatingTable.getTable();
+        for (int i = 0; i < SAMPLES; i++) {
+            double key = randomKey(table);
+            table.get(key, expected);
+            InterpolatingTable.get(key, actual);
+            assertEquals(expected[InterpolatingTable.HOOD_ANGLE], actual[InterpolatingTable.HOOD_ANGLE], SHOT_TABLE_HOOD_TOLERANCE);
+            assertEquals(expected[InterpolatingTable.FLYWHEEL_RPM], actual[InterpolatingTable.FLYWHEEL_RPM], SHOT_TABLE_RPM_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void deployedGridMatchesReference() throws IOException {
+        for (Interpolation interpolation : Interpolation.values()) {
+            PrimitiveInterpolatingTable table = TableWatcher.parse(DEPLOYED_SHOT_TABLE, 2, interpolation, CAMERA_TO_CENTER);
+            assertGridMatches(table, UniformGridTable.compile(table, SHOT_TABLE_GRID_STEP));
+        }
+    }
+
+    // Compares the grid against the reference at random keys from below the first row to above the last
+    private void assertGridMatches(PrimitiveInterpolatingTable table, UniformGridTable grid) {
+        double[] expected = new double[2];
+        double[] actual = new double[2];
+        for (int i = 0; i < SAMPLES; i++) {
+            double key = randomKey(table);
+            table.get(key, expected);
+            grid.get(key, actual);
+            assertEquals("Hood angle at " + key + " (" + table.getInterpolation() + ")", expected[InterpolatingTable.HOOD_ANGLE], actual[InterpolatingTable.HOOD_ANGLE], SHOT_TABLE_HOOD_TOLERANCE);
+            assertEquals("Flywheel RPM at " + key + " (" + table.getInterpolation() + ")", expected[InterpolatingTable.FLYWHEEL_RPM], actual[InterpolatingTable.FLYWHEEL_RPM], SHOT_TABLE_RPM_TOLERANCE);
+        }
+    }
+
+    private double randomKey(PrimitiveInterpolatingTable table) {
+        double min = table.getKey(0) - 0.5;
+        double max = table.getKey(table.size() - 1) + 0.5;
+        return min + (max - min) * random.nextDouble();
+    }
+
+}
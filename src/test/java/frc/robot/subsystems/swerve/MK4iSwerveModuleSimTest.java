@@ -0,0 +1,77 @@
+package frc.robot.subsystems.swerve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import static frc.robot.Constants.Drive.*;
+
+// Commands every module (with its real azimuth offset and inversions) to a speed and angle and checks that the simulated module,
+// the module's own reads and the (offset) CANCoder reading all come back at the commanded state
+public class MK4iSwerveModuleSimTest {
+
+    private static final double SPEED = 1.0; // m/s
+    private static final double ANGLE = Math.toRadians(60.0);
+    private static final double SETTLE_SECONDS = 1.0;
+    private static final double SPEED_TOLERANCE = 0.02; // m/s
+    private static final double ANGLE_TOLERANCE = Math.toRadians(1.0);
+    private static final double CANCODER_TIMEOUT_SECONDS = 1.0; // Wall clock time for the CANCoder's status frames to catch up
+
+    @Test
+    public void commandedStateComesBackFromEveryModule() {
+        assertTrue("Failed to initialize the HAL", HAL.initialize(500, 0));
+        enable();
+
+        MK4iSwerveModule[] modules = new MK4iSwerveModule[SwerveKinematics.MODULE_COUNT];
+        MK4iSwerveModuleSim[] sims = new MK4iSwerveModuleSim[SwerveKinematics.MODULE_COUNT];
+        for (int i = 0; i < modules.length; i++) {
+            modules[i] = new MK4iSwerveModule(DRIVE_IDS[i], STEER_IDS[i], AZIMUTH_CHANNELS[i], AZIMUTH_OFFSETS[i], DRIVE_INVERT_TYPES[i], STEERS_ARE_REVERSED[i], AZIMUTHS_ARE_REVERSED[i], "Module " + i);
+            sims[i] = new MK4iSwerveModuleSim(modules[i], AZIMUTH_OFFSETS[i], DRIVE_INVERT_TYPES[i], STEERS_ARE_REVERSED[i]);
+        }
+
+        for (int step = 0; step < Math.round(SETTLE_SECONDS / TimedRobot.kDefaultPeriod); step++) {
+            for (int i = 0; i < modules.length; i++) {
+                modules[i].setState(SPEED, ANGLE, modules[i].getAngle());
+                sims[i].update(TimedRobot.kDefaultPeriod);
+            }
+        }
+
+        for (int i = 0; i < modules.length; i++) {
+            assertEquals("Module " + i + " simulated speed", SPEED, sims[i].getWheelSpeed(), SPEED_TOLERANCE);
+            assertEquals("Module " + i + " simulated angle", 0.0, Math.IEEEremainder(sims[i].getAngle() - ANGLE, 2.0 * Math.PI), ANGLE_TOLERANCE);
+            assertEquals("Module " + i + " velocity", SPEED, modules[i].getVelocity(), SPEED_TOLERANCE);
+            assertEquals("Module " + i + " angle", 0.0, Math.IEEEremainder(modules[i].getAngle() - ANGLE, 2.0 * Math.PI), ANGLE_TOLERANCE);
+            assertEquals("Module " + i + " CANCoder absolute angle", 0.0, Math.IEEEremainder(waitForAbsoluteAngle(modules[i]) - ANGLE, 2.0 * Math.PI), ANGLE_TOLERANCE);
+        }
+    }
+
+    // Enables the simulated driver station and waits (on the wall clock) until the driver station thread has picked it up
+    private static void enable() {
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+        long deadline = System.nanoTime() + (long) (CANCODER_TIMEOUT_SECONDS * 1.0E9);
+        while (!DriverStation.isEnabled()) {
+            assertTrue("The driver station did not pick up the simulated data", System.nanoTime() < deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    // Returns the CANCoder's absolute angle (radians) once it is within tolerance of the commanded angle, or the last reading
+    // at the timeout; the simulated CANCoder reports the written raw position on its own (wall clock) status frame period
+    private static double waitForAbsoluteAngle(MK4iSwerveModule module) {
+        long deadline = System.nanoTime() + (long) (CANCODER_TIMEOUT_SECONDS * 1.0E9);
+        double angle = Math.toRadians(module.azimuth.getAbsolutePosition());
+        while (Math.abs(Math.IEEEremainder(angle - ANGLE, 2.0 * Math.PI)) > ANGLE_TOLERANCE && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            angle = Math.toRadians(module.azimuth.getAbsolutePosition());
+        }
+        return angle;
+    }
+
+}
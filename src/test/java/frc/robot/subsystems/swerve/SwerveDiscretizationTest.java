@@ -0,0 +1,55 @@
+package frc.robot.subsystems.swerve;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.RunCommand;
+import frc.robot.RobotContainer;
+import frc.robot.RobotSimHarness;
+
+// Drives the simulated robot along the field's x axis while spinning, through Swerve.setSpeeds as the commands do, and checks
+// that discretizing the chassis speeds keeps the (simulated, true) robot closer to the line
+public class SwerveDiscretizationTest {
+
+    private static final double FIELD_SPEED = 1.5; // m/s along the field's x axis
+    private static final double OMEGA = Math.PI; // rad/s
+    private static final double DRIVE_SECONDS = 2.0; // One full turn
+    private static final double SETTLE_SECONDS = 1.0;
+
+    @Test
+    public void discretizedSpeedsDriftLessWhileRotating() {
+        RobotSimHarness harness = new RobotSimHarness();
+        double rawDrift = getDrift(harness, false);
+        double discretizedDrift = getDrift(harness, true);
+
+        // Without discretization each loop's translation is applied in a frame that turns by OMEGA * dt during the loop, so the
+        // robot travels on average half a loop's rotation off the commanded direction, toward the rotation; the module dynamics add
+        // the same lag to both runs, so the difference is what discretizing removes
+        double loopDrift = FIELD_SPEED * DRIVE_SECONDS * Math.sin(OMEGA * TimedRobot.kDefaultPeriod / 2.0);
+        assertTrue("Drift " + rawDrift + " m raw vs " + discretizedDrift + " m discretized", rawDrift - discretizedDrift > 0.5 * loopDrift);
+    }
+
+    // Returns how far (meters, positive toward the direction of rotation) the simulated robot ends up from the commanded line after a run from the origin
+    private static double getDrift(RobotSimHarness harness, boolean discretize) {
+        Swerve swerve = RobotContainer.swerve;
+
+        // Let the robot stop, then move it and its odometry to the origin (one more step writes the new heading into the navX)
+        harness.setMode(RobotSimHarness.Mode.DISABLED);
+        harness.run(SETTLE_SECONDS);
+        swerve.getSim().setPose(new Pose2d());
+        harness.step();
+        swerve.reset(new Pose2d());
+
+        harness.setMode(RobotSimHarness.Mode.TELEOP);
+        Command command = new RunCommand(() -> swerve.setSpeeds(FIELD_SPEED, 0.0, OMEGA, discretize), swerve);
+        command.schedule();
+        harness.run(DRIVE_SECONDS);
+        command.cancel();
+        return swerve.getSim().getPose().getY();
+    }
+
+}
@@ -0,0 +1,135 @@
+package frc.robot.subsystems.swerve;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import static frc.robot.Constants.Drive.*;
+
+// Checks the allocation free kinematics against WPILib's SwerveDriveKinematics over randomized inputs
+public class SwerveKinematicsTest {
+
+    private static final double EPSILON = 1.0E-9;
+    private static final int SAMPLES = 1000;
+
+    // The robot's module layout and an asymmetric one (exercises the off diagonal terms of the pseudo inverse)
+    private static final Translation2d[][] LAYOUTS = {
+        {FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION},
+        {new Translation2d(0.4, 0.2), new Translation2d(0.3, -0.35), new Translation2d(-0.25, 0.3), new Translation2d(-0.35, -0.2)}
+    };
+
+    private final Random random = new Random(2022);
+
+    @Test
+    public void toModuleStatesMatchesWPILib() {
+        for (Translation2d[] layout : LAYOUTS) {
+            SwerveKinematics kinematics = new SwerveKinematics(layout[0], layout[1], layout[2], layout[3]);
+            SwerveDriveKinematics reference = new SwerveDriveKinematics(layout);
+            double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+            double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+            for (int sample = 0; sample < SAMPLES; sample++) {
+                double vx = randomIn(-5.0, 5.0);
+                double vy = randomIn(-5.0, 5.0);
+                double omega = randomIn(-10.0, 10.0);
+                kinematics.toModuleStates(vx, vy, omega, speeds, angles);
+                SwerveModuleState[] expected = reference.toSwerveModuleStates(new ChassisSpeeds(vx, vy, omega));
+                for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                    assertEquals(expected[i].speedMetersPerSecond, speeds[i], EPSILON);
+                    assertEquals(0.0, Math.IEEEremainder(expected[i].angle.getRadians() - angles[i], 2.0 * Math.PI), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stoppedChassisHoldsModuleAngles() {
+        SwerveKinematics kinematics = new SwerveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
+        double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+        double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+        kinematics.toModuleStates(1.0, -2.0, 3.0, speeds, angles);
+        double[] heldAngles = angles.clone();
+
+        kinematics.toModuleStates(0.0, 0.0, 0.0, speeds, angles);
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            assertEquals(0.0, speeds[i], 0.0);
+            assertEquals(heldAngles[i], angles[i], 0.0);
+        }
+    }
+
+    @Test
+    public void toChassisSpeedsMatchesWPILib() {
+        for (Translation2d[] layout : LAYOUTS) {
+            SwerveKinematics kinematics = new SwerveKinematics(layout[0], layout[1], layout[2], layout[3]);
+            SwerveDriveKinematics reference = new SwerveDriveKinematics(layout);
+            double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+            double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+            double[] chassisSpeeds = new double[3];
+            SwerveModuleState[] states = new SwerveModuleState[SwerveKinematics.MODULE_COUNT];
+            for (int sample = 0; sample < SAMPLES; sample++) {
+                // Arbitrary (inconsistent) module states, so the least squares solution is exercised
+                for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                    speeds[i] = randomIn(-5.0, 5.0);
+                    angles[i] = randomIn(-Math.PI, Math.PI);
+                    states[i] = new SwerveModuleState(speeds[i], new Rotation2d(angles[i]));
+                }
+                kinematics.toChassisSpeeds(speeds, angles, chassisSpeeds);
+                ChassisSpeeds expected = reference.toChassisSpeeds(states);
+                assertEquals(expected.vxMetersPerSecond, chassisSpeeds[SwerveKinematics.VX], EPSILON);
+                assertEquals(expected.vyMetersPerSecond, chassisSpeeds[SwerveKinematics.VY], EPSILON);
+                assertEquals(expected.omegaRadiansPerSecond, chassisSpeeds[SwerveKinematics.OMEGA], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void desaturateWheelSpeedsMatchesWPILib() {
+        double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+        SwerveModuleState[] states = new SwerveModuleState[SwerveKinematics.MODULE_COUNT];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            // Module speeds from the inverse kinematics are never negative (WPILib compares the signed speeds)
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                speeds[i] = randomIn(0.0, 8.0);
+                states[i] = new SwerveModuleState(speeds[i], new Rotation2d());
+            }
+            double maxSpeed = randomIn(1.0, 6.0);
+            SwerveKinematics.desaturateWheelSpeeds(speeds, maxSpeed);
+            SwerveDriveKinematics.desaturateWheelSpeeds(states, maxSpeed);
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                assertEquals(states[i].speedMetersPerSecond, speeds[i], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void discretizeMatchesPoseLog() {
+        double[] discretized = new double[3];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            double vx = randomIn(-5.0, 5.0);
+            double vy = randomIn(-5.0, 5.0);
+            // Include (nearly) pure translation, where the series expansion is used
+            double omega = sample % 10 == 0 ? randomIn(-1.0E-6, 1.0E-6) : randomIn(-10.0, 10.0);
+            double dt = randomIn(0.005, 0.05);
+            SwerveKinematics.discretize(vx, vy, omega, dt, discretized);
+
+            // The twist to the pose reached by holding the speeds for dt (in the robot's starting frame), per second
+            Twist2d expected = new Pose2d().log(new Pose2d(vx * dt, vy * dt, new Rotation2d(omega * dt)));
+            assertEquals(expected.dx / dt, discretized[SwerveKinematics.VX], 1.0E-6);
+            assertEquals(expected.dy / dt, discretized[SwerveKinematics.VY], 1.0E-6);
+            assertEquals(expected.dtheta / dt, discretized[SwerveKinematics.OMEGA], 1.0E-6);
+        }
+    }
+
+    private double randomIn(double min, double max) {
+        return min + (max - min) * random.nextDouble();
+    }
+
+}
@@ -0,0 +1,105 @@
+package frc.robot.subsystems.swerve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.TimedRobot;
+import static frc.robot.Constants.Drive.*;
+
+// Checks the setpoint generator's module limits over randomized requests, a direction reversal and a feasible request
+public class SwerveSetpointGeneratorTest {
+
+    private static final double DT = TimedRobot.kDefaultPeriod;
+    private static final double EPSILON = 1.0E-6;
+    private static final double STOPPED_SPEED = 0.05; // Modules slower than this (m/s) may steer freely
+    private static final int STEPS = 2000;
+
+    private final SwerveKinematics kinematics = new SwerveKinematics(FL_LOCATION, FR_LOCATION, BL_LOCATION, BR_LOCATION);
+    private final SwerveSetpointGenerator generator = new SwerveSetpointGenerator(kinematics, ROBOT_MAX_SPEED, MAX_MODULE_ACCELERATION, MAX_MODULE_STEER_RATE);
+    private final Random random = new Random(2022);
+
+    @Test
+    public void moduleSpeedAndSteeringChangesStayWithinTheLimits() {
+        double[] speeds = new double[SwerveKinematics.MODULE_COUNT];
+        double[] angles = new double[SwerveKinematics.MODULE_COUNT];
+        for (int step = 0; step < STEPS; step++) {
+            // Hold each random request for a while so the modules get up to speed between changes
+            if (step % 25 == 0) {
+                double vx = randomIn(-ROBOT_MAX_SPEED, ROBOT_MAX_SPEED);
+                double vy = randomIn(-ROBOT_MAX_SPEED, ROBOT_MAX_SPEED);
+                double omega = randomIn(-8.0, 8.0);
+                generateAndCheck(vx, vy, omega, speeds, angles, step);
+            } else {
+                double[] chassis = generator.getChassisSpeeds();
+                generateAndCheck(chassis[SwerveKinematics.VX] + randomIn(-0.5, 0.5), chassis[SwerveKinematics.VY] + randomIn(-0.5, 0.5), chassis[SwerveKinematics.OMEGA] + randomIn(-1.0, 1.0), speeds, angles, step);
+            }
+        }
+    }
+
+    @Test
+    public void reversingSlowsThroughZeroInsteadOfSpinning() {
+        // Get up to speed driving forward
+        for (int step = 0; step < 50; step++) {
+            generator.generate(2.0, 0.0, 0.0, DT);
+        }
+        assertEquals(1.0, generator.getLastFraction(), EPSILON);
+
+        double[] previousSpeeds = generator.getModuleSpeeds().clone();
+        double[] angles = generator.getModuleAngles().clone();
+        for (int step = 0; step < 50; step++) {
+            generator.generate(-2.0, 0.0, 0.0, DT);
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                double speed = generator.getModuleSpeeds()[i];
+                assertEquals("Module " + i + " angle at step " + step, 0.0, Math.IEEEremainder(generator.getModuleAngles()[i] - angles[i], 2.0 * Math.PI), EPSILON);
+                assertTrue("Module " + i + " speed rises at step " + step, speed <= previousSpeeds[i] + EPSILON);
+                previousSpeeds[i] = speed;
+            }
+        }
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            assertEquals("Module " + i + " final speed", -2.0, previousSpeeds[i], EPSILON);
+        }
+        assertEquals(-2.0, generator.getChassisSpeeds()[SwerveKinematics.VX], EPSILON);
+    }
+
+    @Test
+    public void feasibleRequestIsReachedInOneStep() {
+        double vx = 0.5 * MAX_MODULE_ACCELERATION * DT;
+        generator.generate(vx, 0.0, 0.0, DT);
+        assertEquals(1.0, generator.getLastFraction(), EPSILON);
+        assertEquals(vx, generator.getChassisSpeeds()[SwerveKinematics.VX], EPSILON);
+        assertEquals(0.0, generator.getChassisSpeeds()[SwerveKinematics.VY], EPSILON);
+        assertEquals(0.0, generator.getChassisSpeeds()[SwerveKinematics.OMEGA], EPSILON);
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            assertEquals(vx, generator.getModuleSpeeds()[i], EPSILON);
+        }
+
+        // Holding the reached request stays feasible
+        generator.generate(vx, 0.0, 0.0, DT);
+        assertEquals(1.0, generator.getLastFraction(), EPSILON);
+    }
+
+    // Generates the next setpoint and checks every module's change against the previous setpoint (kept in speeds and angles)
+    private void generateAndCheck(double vx, double vy, double omega, double[] speeds, double[] angles, int step) {
+        generator.generate(vx, vy, omega, DT);
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            double speed = generator.getModuleSpeeds()[i];
+            double angle = generator.getModuleAngles()[i];
+            assertTrue("Module " + i + " speed change at step " + step, Math.abs(speed - speeds[i]) <= MAX_MODULE_ACCELERATION * DT + EPSILON);
+            if (Math.abs(speeds[i]) > STOPPED_SPEED) {
+                assertTrue("Module " + i + " steer change at step " + step, Math.abs(Math.IEEEremainder(angle - angles[i], 2.0 * Math.PI)) <= MAX_MODULE_STEER_RATE * DT + EPSILON);
+            }
+            assertTrue("Module " + i + " speed at step " + step, Math.abs(speed) <= ROBOT_MAX_SPEED + EPSILON);
+            speeds[i] = speed;
+            angles[i] = angle;
+        }
+    }
+
+    private double randomIn(double min, double max) {
+        return min + (max - min) * random.nextDouble();
+    }
+
+}